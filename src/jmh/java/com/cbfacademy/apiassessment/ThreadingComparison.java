@@ -0,0 +1,190 @@
+package com.cbfacademy.apiassessment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.cbfacademy.apiassessment.volunteer.VolunteerDataset;
+import com.google.gson.Gson;
+
+/**
+ * Load test comparing request handling on Tomcat's platform-thread pool with virtual threads
+ * ({@code spring.threads.virtual.enabled}). For each mode it starts the application on a random port against the
+ * same synthetic roster, drives it with a fixed number of concurrent clients issuing a mix of GET and PUT requests
+ * by ID, and prints the throughput and the p50, p99 and maximum latency. The table is also written, with the
+ * options and runtime it was measured with, to a results file so runs can be recorded and compared.
+ * <p>
+ * Options are given as {@code key=value}: {@code size} (roster size, default 10000), {@code clients} (concurrent
+ * clients, default 400), {@code seconds} (measured duration per mode, default 20), {@code warmup} (seconds,
+ * default 5), {@code writes} (percentage of PUTs, default 20), {@code mode} and {@code durability} (storage
+ * settings, default wal and group_commit, so writes block the request thread while a shared flush runs) and
+ * {@code out} (results file, default {@code target/threading-comparison.txt}).
+ * </p>
+ */
+public final class ThreadingComparison {
+
+    private static final Gson GSON = new Gson();
+
+    private ThreadingComparison() {
+        // Entry point only
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "size", "10000", "clients", "400", "seconds", "20", "warmup", "5", "writes", "20",
+                "mode", "wal", "durability", "group_commit", "out", "target/threading-comparison.txt"));
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        // DevTools is on the benchmark classpath; its restarter would start the application a second time.
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        List<String> results = new ArrayList<>();
+        for (boolean virtual : new boolean[] { false, true }) {
+            results.add(run(virtual, options));
+        }
+        List<String> report = new ArrayList<>();
+        report.add(String.format("Java %s on %d processors, options %s", Runtime.version(),
+                Runtime.getRuntime().availableProcessors(), new TreeMap<>(options)));
+        report.add(String.format("%-9s %-8s %12s %10s %10s %10s %8s", "threads", "active", "requests/s", "p50 ms", "p99 ms", "max ms", "errors"));
+        report.addAll(results);
+        System.out.println();
+        report.forEach(System.out::println);
+        Path out = Path.of(options.get("out"));
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        Files.write(out, report);
+        System.out.println("Results written to " + out);
+    }
+
+    // Starts the application in one threading mode, drives it and returns one formatted result line.
+    private static String run(boolean virtual, Map<String, String> options) throws Exception {
+        Path directory = Files.createTempDirectory("volunteer-threading");
+        try {
+            Path file = directory.resolve("volunteers.json");
+            List<UUID> ids = VolunteerDataset.write(file, Integer.parseInt(options.get("size")));
+            // Passed as command-line arguments so they override application.properties.
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(ChurchManagementApplication.class).run(
+                    "--server.port=0",
+                    "--spring.threads.virtual.enabled=" + virtual,
+                    "--volunteers.storage.file=" + file,
+                    "--volunteers.storage.mode=" + options.get("mode"),
+                    "--volunteers.storage.durability=" + options.get("durability"),
+                    "--logging.level.root=WARN");
+            try {
+                boolean active = Threading.VIRTUAL.isActive(context.getEnvironment());
+                String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/volunteers/";
+                int clients = Integer.parseInt(options.get("clients"));
+                int writes = Integer.parseInt(options.get("writes"));
+                System.out.printf("Running %s threads (virtual active: %s) with %d clients...%n",
+                        virtual ? "virtual" : "platform", active, clients);
+                drive(base, ids, clients, writes, Duration.ofSeconds(Long.parseLong(options.get("warmup"))));
+                Duration measured = Duration.ofSeconds(Long.parseLong(options.get("seconds")));
+                Load load = drive(base, ids, clients, writes, measured);
+                long[] latencies = load.latencies();
+                Arrays.sort(latencies);
+                return String.format("%-9s %-8s %12.0f %10.2f %10.2f %10.2f %8d",
+                        virtual ? "virtual" : "platform", active,
+                        latencies.length / (double) measured.toSeconds(),
+                        percentile(latencies, 0.50), percentile(latencies, 0.99),
+                        latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6,
+                        load.errors());
+            } finally {
+                context.close();
+            }
+        } finally {
+            VolunteerDataset.deleteRecursively(directory);
+        }
+    }
+
+    // Runs the clients for the given duration and collects every request's latency in nanoseconds.
+    private static Load drive(String base, List<UUID> ids, int clients, int writes, Duration duration) throws Exception {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Load>> running = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            running.add(executor.submit(() -> client(http, base, ids, writes, deadline)));
+        }
+        long[] latencies = new long[0];
+        long errors = 0;
+        for (Future<Load> future : running) {
+            Load load = future.get();
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + load.latencies().length);
+            System.arraycopy(load.latencies(), 0, latencies, offset, load.latencies().length);
+            errors += load.errors();
+        }
+        executor.shutdown();
+        return new Load(latencies, errors);
+    }
+
+    // One client: issues requests back to back until the deadline.
+    private static Load client(HttpClient http, String base, List<UUID> ids, int writes, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] latencies = new long[1024];
+        int count = 0;
+        long errors = 0;
+        while (System.nanoTime() < deadline) {
+            UUID id = ids.get(random.nextInt(ids.size()));
+            HttpRequest request = random.nextInt(100) < writes
+                    ? HttpRequest.newBuilder(URI.create(base + id))
+                            .header("Content-Type", "application/json")
+                            .PUT(HttpRequest.BodyPublishers.ofString(GSON.toJson(VolunteerDataset.volunteer(random, random.nextInt(1000)))))
+                            .build()
+                    : HttpRequest.newBuilder(URI.create(base + id)).GET().build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 400) {
+                    errors++;
+                    continue;
+                }
+            } catch (IOException e) {
+                errors++;
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+        return new Load(Arrays.copyOf(latencies, count), errors);
+    }
+
+    // Returns the given percentile of sorted latencies, in milliseconds.
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+
+    // Latencies of the successful requests and the number of failed ones.
+    private record Load(long[] latencies, long errors) {
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cbfacademy.apiassessment.storage.StreamingVolunteerLoader;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Benchmarks loading and saving a volunteers.json snapshot with Gson, for each dataset size: the original
+ * whole-document load, the streaming loader used by the repository, and a full save.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GsonBenchmark {
+
+    private static final Type VOLUNTEER_LIST = new TypeToken<List<Volunteer>>() { }.getType();
+
+    @Param({ "1000", "100000", "1000000" })
+    private int size;
+
+    @Param({ "1", "4" })
+    private int loadParallelism;
+
+    private final Gson gson = new Gson();
+    private Path directory;
+    private Path file;
+    private List<Volunteer> volunteers;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("volunteer-benchmark");
+        file = directory.resolve("volunteers.json");
+        VolunteerDataset.write(file, size);
+        volunteers = loadDocument();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        VolunteerDataset.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public List<Volunteer> loadDocument() throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, VOLUNTEER_LIST);
+        }
+    }
+
+    @Benchmark
+    public List<Volunteer> loadStreaming() throws IOException {
+        List<Volunteer> loaded = new ArrayList<>(size);
+        StreamingVolunteerLoader loader = new StreamingVolunteerLoader(gson, loadParallelism, 1000, Integer.MAX_VALUE);
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            loader.load(reader, file.toString(), loaded::add);
+        }
+        return loaded;
+    }
+
+    @Benchmark
+    public Path save() throws IOException {
+        Path target = directory.resolve("saved.json");
+        try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            gson.toJson(volunteers, writer);
+        }
+        return target;
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cbfacademy.apiassessment.storage.PersistenceMode;
+import com.cbfacademy.apiassessment.storage.SnapshotFormat;
+import com.cbfacademy.apiassessment.storage.StorageProperties;
+
+/**
+ * Benchmarks the {@link JsonVolunteerRepository} operations on the request path, for each dataset size and
+ * storage mode. Saves update an existing volunteer, so the roster size stays constant during a run.
+ * <p>
+ * Note that {@code save} in {@code SNAPSHOT} mode rewrites the whole snapshot on every call, so it takes seconds
+ * per operation on the 1M dataset; narrow the parameters with {@code -p size=...} when that is not of interest.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RepositoryBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    private int size;
+
+    @Param({ "SNAPSHOT", "WAL" })
+    private PersistenceMode mode;
+
+    @Param({ "JSON", "BINARY" })
+    private SnapshotFormat format;
+
+    private Path directory;
+    private JsonVolunteerRepository repository;
+    private List<UUID> ids;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("volunteer-benchmark");
+        Path file = directory.resolve("volunteers.json");
+        ids = VolunteerDataset.write(file, size);
+        StorageProperties properties = new StorageProperties();
+        properties.setFile(file.toString());
+        properties.setMode(mode);
+        properties.setFormat(format);
+        // Keep compaction out of the measurements.
+        properties.setCompactionThreshold(Integer.MAX_VALUE);
+        repository = new JsonVolunteerRepository(properties);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        repository.close();
+        VolunteerDataset.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Optional<Volunteer> findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Volunteer> findBySkills() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> skills = List.of(
+                VolunteerDataset.SKILLS.get(random.nextInt(VolunteerDataset.SKILLS.size())),
+                VolunteerDataset.SKILLS.get(random.nextInt(VolunteerDataset.SKILLS.size())));
+        return repository.findBySkills(skills);
+    }
+
+    @Benchmark
+    public List<Volunteer> findByIsActive() {
+        return repository.findByIsActive(ThreadLocalRandom.current().nextBoolean());
+    }
+
+    @Benchmark
+    public List<Volunteer> lookup() {
+        // A type-ahead query: the first name typed up to its last digit, plus the start of the last name.
+        String number = Integer.toString(ThreadLocalRandom.current().nextInt(size));
+        return repository.lookup("First" + number.substring(0, Math.max(1, number.length() - 1)) + " La", 10);
+    }
+
+    @Benchmark
+    public Volunteer save() {
+        Volunteer volunteer = repository.findById(randomId()).orElseThrow();
+        volunteer.setActive(!volunteer.isActive());
+        return repository.save(volunteer);
+    }
+
+    private UUID randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+}
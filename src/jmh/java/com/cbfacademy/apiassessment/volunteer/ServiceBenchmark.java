@@ -0,0 +1,96 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cbfacademy.apiassessment.search.AdvancedSearchQuery;
+import com.cbfacademy.apiassessment.storage.StorageProperties;
+
+/**
+ * Benchmarks {@link VolunteerServiceImpl#searchVolunteers(AdvancedSearchQuery)} against a real repository and
+ * {@link VolunteerServiceImpl#validateVolunteer(Volunteer)} on its own, for each dataset size, with the search
+ * cache disabled and enabled, with searches answered from the indexes or by scanning the columnar store, and with
+ * large scans on the calling thread or split across four threads. Compare the search paths with the cache disabled,
+ * since a cache hit skips them all.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ServiceBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    private int size;
+
+    @Param({ "0", "100000" })
+    private long searchCacheSize;
+
+    @Param({ "false", "true" })
+    private boolean columnar;
+
+    @Param({ "1", "4" })
+    private int scanParallelism;
+
+    private Path directory;
+    private JsonVolunteerRepository repository;
+    private VolunteerServiceImpl service;
+    private Volunteer valid;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("volunteer-benchmark");
+        Path file = directory.resolve("volunteers.json");
+        VolunteerDataset.write(file, size);
+        StorageProperties properties = new StorageProperties();
+        properties.setFile(file.toString());
+        properties.setSearchCacheSize(searchCacheSize);
+        properties.setColumnar(columnar);
+        properties.setScanParallelism(scanParallelism);
+        repository = new JsonVolunteerRepository(properties);
+        service = new VolunteerServiceImpl(repository);
+        valid = VolunteerDataset.volunteer(new Random(), 0);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        repository.close();
+        VolunteerDataset.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public List<Volunteer> searchVolunteers() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        AdvancedSearchQuery query = new AdvancedSearchQuery(
+                List.of(VolunteerDataset.SKILLS.get(random.nextInt(VolunteerDataset.SKILLS.size()))),
+                random.nextBoolean(),
+                VolunteerDataset.ROLES.get(random.nextInt(VolunteerDataset.ROLES.size())));
+        return service.searchVolunteers(query);
+    }
+
+    @Benchmark
+    public Volunteer validateVolunteer() {
+        VolunteerServiceImpl.validateVolunteer(valid);
+        return valid;
+    }
+
+}
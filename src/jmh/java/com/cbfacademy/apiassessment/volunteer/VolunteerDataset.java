@@ -0,0 +1,115 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Synthetic volunteer rosters for the benchmarks.
+ * <p>
+ * Datasets are generated from a fixed seed, so every run and every storage mode sees the same volunteers. Records
+ * are streamed straight to a JSON snapshot file, so even the largest dataset never has to be built in memory
+ * before the repository loads it.
+ * </p>
+ */
+public final class VolunteerDataset {
+
+    /**
+     * Roles assigned to generated volunteers.
+     */
+    public static final List<String> ROLES = List.of("Administrator", "Accountant", "Greeter", "Choir Member",
+            "Bookkeeper", "Usher", "Youth Leader", "Caterer", "Driver", "Technician");
+
+    /**
+     * Skills assigned to generated volunteers, three per volunteer.
+     */
+    public static final List<String> SKILLS = List.of("Organizational", "Attention to detail", "Computer skills",
+            "Financial analysis", "Integrity", "Taxation knowledge", "Welcoming", "Friendly demeanor",
+            "Effective communication", "Vocal ability", "Musicality", "Team collaboration", "Financial reporting",
+            "Analytical thinking", "Ethics", "Numerical skills", "Accuracy", "Sign Language Proficiency",
+            "Customer Service", "First aid", "Cooking", "Food hygiene", "Driving", "Sound engineering",
+            "Lighting", "Video streaming", "Mentoring", "Safeguarding", "Event planning", "Fundraising");
+
+    // Share of generated volunteers that are active.
+    private static final double ACTIVE_RATIO = 0.7;
+
+    private static final long SEED = 42L;
+
+    private VolunteerDataset() {
+        // Utility class
+    }
+
+    /**
+     * Writes a JSON snapshot of the given number of volunteers.
+     *
+     * @param file the snapshot file to write
+     * @param size the number of volunteers
+     * @return the IDs of the generated volunteers, in file order
+     * @throws IOException if the file cannot be written
+     */
+    public static List<UUID> write(Path file, int size) throws IOException {
+        Gson gson = new Gson();
+        Random random = new Random(SEED);
+        List<UUID> ids = new ArrayList<>(size);
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+             JsonWriter json = gson.newJsonWriter(writer)) {
+            json.beginArray();
+            for (int i = 0; i < size; i++) {
+                Volunteer volunteer = volunteer(random, i);
+                gson.toJson(volunteer, Volunteer.class, json);
+                ids.add(volunteer.getId());
+            }
+            json.endArray();
+        }
+        return ids;
+    }
+
+    /**
+     * Generates a single valid volunteer, for benchmarks that need one outside a dataset.
+     *
+     * @param random the source of randomness
+     * @param number a number used to make the name, email and contact number unique
+     * @return the volunteer
+     */
+    public static Volunteer volunteer(Random random, int number) {
+        List<String> skills = new ArrayList<>(3);
+        while (skills.size() < 3) {
+            String skill = SKILLS.get(random.nextInt(SKILLS.size()));
+            if (!skills.contains(skill)) {
+                skills.add(skill);
+            }
+        }
+        return new Volunteer(new UUID(random.nextLong(), random.nextLong()), "First" + number, "Last" + number,
+                String.format("07%09d", number), "volunteer" + number + "@example.com",
+                ROLES.get(random.nextInt(ROLES.size())), skills, random.nextDouble() < ACTIVE_RATIO);
+    }
+
+    /**
+     * Deletes a benchmark directory and everything in it.
+     *
+     * @param directory the directory to delete
+     * @throws IOException if a file cannot be deleted
+     */
+    public static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+}
@@ -33,5 +33,33 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiError, HttpStatus.NOT_FOUND);
     }
 
+
+    /**
+     * Handles requests creating a volunteer with the ID of one that already exists, which would otherwise replace it.
+     *
+     * @param ex The caught VolunteerAlreadyExistsException.
+     * @return A ResponseEntity containing the ApiError and the CONFLICT status.
+     */
+    @ExceptionHandler(VolunteerAlreadyExistsException.class)
+    public ResponseEntity <Object> handleVolunteerAlreadyExistsException(VolunteerAlreadyExistsException ex) {
+        ApiError apiError = new ApiError(HttpStatus.CONFLICT, ex.getMessage());
+
+        return new ResponseEntity<>(apiError, HttpStatus.CONFLICT);
+    }
+
+
+    /**
+     * Handles requests for a page of volunteers with an invalid cursor or page size.
+     *
+     * @param ex The caught InvalidPageRequestException.
+     * @return A ResponseEntity containing the ApiError and the BAD_REQUEST status.
+     */
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity <Object> handleInvalidPageRequestException(InvalidPageRequestException ex) {
+        ApiError apiError = new ApiError(HttpStatus.BAD_REQUEST, ex.getMessage());
+
+        return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
+    }
+
     
 }
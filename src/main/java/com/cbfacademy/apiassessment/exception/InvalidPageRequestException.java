@@ -0,0 +1,18 @@
+package com.cbfacademy.apiassessment.exception;
+
+/**
+ * Exception thrown when a page of volunteers is requested with a malformed or expired cursor,
+ * or with a page size outside the allowed range.
+ */
+public class InvalidPageRequestException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidPageRequestException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.cbfacademy.apiassessment.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a volunteer is created with the ID of a volunteer that already exists.
+ */
+public class VolunteerAlreadyExistsException extends RuntimeException {
+
+    /**
+     * Constructs a VolunteerAlreadyExistsException with a standard message that includes the provided UUID.
+     *
+     * @param id the UUID that is already in use.
+     */
+    public VolunteerAlreadyExistsException(UUID id) {
+        super("Volunteer with ID " + id + " already exists.");
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.cbfacademy.apiassessment.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Bitmap index for a single-valued attribute with few distinct values, such as a role or the active flag.
+ * <p>
+ * Each value maps to a compressed {@link RoaringBitmap} of the rows holding it, so queries over several
+ * attributes are answered by intersecting bitmaps before any volunteer is touched. The index remembers the
+ * value it indexed for each row, so a row can be re-indexed or removed without the caller supplying its
+ * previous value.
+ * </p>
+ * <p>
+ * Not thread-safe; the owning repository is responsible for synchronization.
+ * </p>
+ *
+ * @param <K> the value type
+ */
+public class BitmapIndex<K> {
+
+    // Rows holding each value.
+    private final Map<K, RoaringBitmap> rowsByValue = new HashMap<>();
+
+    // Value indexed for each row, by row number; null for rows without a value.
+    private final List<K> valueByRow = new ArrayList<>();
+
+
+    /**
+     * Sets the value indexed for a row, moving the row out of the bitmap of its previous value.
+     *
+     * @param row   the row number
+     * @param value the row's value; null to remove the row from the index
+     */
+    public void index(int row, K value) {
+        K previous = row < valueByRow.size() ? valueByRow.get(row) : null;
+        if (Objects.equals(previous, value)) {
+            return;
+        }
+        if (previous != null) {
+            RoaringBitmap rows = rowsByValue.get(previous);
+            rows.remove(row);
+            if (rows.isEmpty()) {
+                rowsByValue.remove(previous);
+            }
+        }
+        if (value != null) {
+            rowsByValue.computeIfAbsent(value, v -> new RoaringBitmap()).add(row);
+        }
+        while (valueByRow.size() <= row) {
+            valueByRow.add(null);
+        }
+        valueByRow.set(row, value);
+    }
+
+    /**
+     * Removes a row from the index.
+     *
+     * @param row the row number
+     */
+    public void removeRow(int row) {
+        index(row, null);
+    }
+
+    /**
+     * Returns the rows holding the given value.
+     *
+     * @param value the value to look up
+     * @return a new bitmap of the matching rows, which the caller may modify
+     */
+    public RoaringBitmap rowsWith(K value) {
+        RoaringBitmap rows = rowsByValue.get(value);
+        return rows == null ? new RoaringBitmap() : rows.clone();
+    }
+
+    /**
+     * Removes from the given rows every row not holding the value, without copying the value's bitmap.
+     *
+     * @param rows  the rows to narrow down, modified in place
+     * @param value the value the remaining rows must hold
+     */
+    public void retainRowsWith(RoaringBitmap rows, K value) {
+        RoaringBitmap matches = rowsByValue.get(value);
+        if (matches == null) {
+            rows.clear();
+        } else {
+            rows.and(matches);
+        }
+    }
+
+    /**
+     * Returns the value indexed for a row.
+     *
+     * @param row the row number
+     * @return the row's value, or null if it has none
+     */
+    public K valueFor(int row) {
+        return row < valueByRow.size() ? valueByRow.get(row) : null;
+    }
+
+    /**
+     * Returns the number of rows holding the given value.
+     *
+     * @param value the value
+     * @return the number of rows
+     */
+    public int count(K value) {
+        RoaringBitmap rows = rowsByValue.get(value);
+        return rows == null ? 0 : rows.getCardinality();
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.cbfacademy.apiassessment.index;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dictionary encoding of a low-cardinality string attribute, such as roles or skills.
+ * <p>
+ * Each distinct value is assigned a small int code the first time it is encoded and keeps it for the life of the
+ * dictionary, so indexes can be keyed by codes and values compared as ints. Decoding always returns the one
+ * canonical instance of a value, which stored volunteers share. Codes are never reused; the dictionary only grows
+ * with the number of distinct values, which for roles and skills is small.
+ * </p>
+ * <p>
+ * Each repository owns its dictionaries and only encodes the values of volunteers it stores; values taken from
+ * queries are looked up with {@link #find(String)}, which never adds them.
+ * </p>
+ * <p>
+ * Thread-safe: lookups of known values do not lock, and new values are added under a lock.
+ * </p>
+ */
+public final class Dictionary {
+
+    /** Code standing for a null value, and returned by {@link #find(String)} for values never encoded. */
+    public static final int NONE = -1;
+
+    // Code of each value.
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+
+    // Canonical value of each code. Replaced with a larger copy when full; an entry is written before its code is
+    // published in the map, so a reader that has a code always finds its value.
+    private volatile String[] values = new String[64];
+
+    // Number of codes assigned. Guarded by the lock.
+    private int size;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+
+    /**
+     * Returns the code of a value, assigning the next code if the value is new.
+     *
+     * @param value the value, may be null
+     * @return the value's code, or {@link #NONE} for null
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        lock.lock();
+        try {
+            code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size] = value;
+            codes.put(value, size);
+            return size++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Encodes a list of values, keeping their order.
+     *
+     * @param values the values, may be null
+     * @return their codes, empty for null
+     */
+    public int[] encodeAll(List<String> values) {
+        if (values == null) {
+            return new int[0];
+        }
+        int[] encoded = new int[values.size()];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = encode(values.get(i));
+        }
+        return encoded;
+    }
+
+    /**
+     * Returns the code of a value without assigning one, for values taken from queries.
+     *
+     * @param value the value, may be null
+     * @return the value's code, or {@link #NONE} if it is null or has never been encoded
+     */
+    public int find(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer code = codes.get(value);
+        return code == null ? NONE : code;
+    }
+
+    /**
+     * Returns the canonical value of a code.
+     *
+     * @param code a code returned by {@link #encode(String)}, or {@link #NONE}
+     * @return the value, or null for {@link #NONE}
+     */
+    public String decode(int code) {
+        return code == NONE ? null : values[code];
+    }
+
+    /**
+     * Returns a read-only list view decoding the given codes.
+     *
+     * @param codes the codes, which must not be modified while the view is in use
+     * @return the values, in the order of the codes
+     */
+    public List<String> decodeAll(int[] codes) {
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                return decode(codes[index]);
+            }
+
+            @Override
+            public int size() {
+                return codes.length;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of distinct values encoded so far.
+     *
+     * @return the number of codes
+     */
+    public int size() {
+        return codes.size();
+    }
+
+}
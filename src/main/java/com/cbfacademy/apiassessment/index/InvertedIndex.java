@@ -0,0 +1,173 @@
+package com.cbfacademy.apiassessment.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Inverted index from keys to the rows that hold them, for multi-valued attributes such as skills.
+ * <p>
+ * Rows are the row numbers used by the repository. Each key's rows are kept in a compressed {@link RoaringBitmap},
+ * so lookups cost time proportional to the number of matching rows and combine cheaply with the bitmaps of a
+ * {@link BitmapIndex}. The index remembers which keys it indexed for each row, so a row can be re-indexed or
+ * removed without the caller supplying its previous values. Rows hold few keys, so they are remembered as a plain
+ * array per row rather than a set, which would cost several times the memory for the same handful of keys.
+ * </p>
+ * <p>
+ * Not thread-safe; the owning repository is responsible for synchronization.
+ * </p>
+ *
+ * @param <K> the key type
+ */
+public class InvertedIndex<K> {
+
+    // Rows holding each key.
+    private final Map<K, RoaringBitmap> rowsByKey = new HashMap<>();
+
+    // Distinct keys indexed for each row, by row number; null for rows with no keys.
+    private final List<Object[]> keysByRow = new ArrayList<>();
+
+
+    /**
+     * Replaces the keys indexed for a row. Only the keys that changed are touched.
+     *
+     * @param row  the row number
+     * @param keys the row's keys; null or empty to remove the row from the index
+     */
+    public void index(int row, Collection<K> keys) {
+        List<K> previous = keysOf(row);
+        List<K> current = new ArrayList<>(keys == null ? 0 : keys.size());
+        if (keys != null) {
+            for (K key : keys) {
+                if (key != null && !current.contains(key)) {
+                    current.add(key);
+                }
+            }
+        }
+        for (K key : previous) {
+            if (!current.contains(key)) {
+                unlink(row, key);
+            }
+        }
+        for (K key : current) {
+            if (!previous.contains(key)) {
+                link(row, key);
+            }
+        }
+        setKeys(row, current.isEmpty() ? null : current.toArray());
+    }
+
+    /**
+     * Removes a row and all of its keys from the index.
+     *
+     * @param row the row number
+     */
+    public void removeRow(int row) {
+        index(row, null);
+    }
+
+    /**
+     * Returns the rows holding any of the given keys.
+     *
+     * @param keys the keys to look up
+     * @return a new bitmap of the matching rows, which the caller may modify
+     */
+    public RoaringBitmap rowsWithAny(Collection<K> keys) {
+        RoaringBitmap matches = new RoaringBitmap();
+        if (keys != null) {
+            for (K key : keys) {
+                RoaringBitmap rows = rowsByKey.get(key);
+                if (rows != null) {
+                    matches.or(rows);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the keys indexed for a row.
+     *
+     * @param row the row number
+     * @return an unmodifiable view of the row's distinct keys, empty if it has none
+     */
+    public List<K> keysFor(int row) {
+        return Collections.unmodifiableList(keysOf(row));
+    }
+
+    /**
+     * Returns the rows holding every one of the given keys. Keys are intersected from the rarest up, so the
+     * intermediate result is never larger than the rarest key's rows.
+     *
+     * @param keys the keys to look up
+     * @return a new bitmap of the matching rows, which the caller may modify; empty if there are no keys
+     */
+    public RoaringBitmap rowsWithAll(Collection<K> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        List<K> rarestFirst = new ArrayList<>(keys);
+        rarestFirst.sort(Comparator.comparingInt(this::count));
+        RoaringBitmap matches = null;
+        for (K key : rarestFirst) {
+            RoaringBitmap rows = rowsByKey.get(key);
+            if (rows == null) {
+                return new RoaringBitmap();
+            }
+            if (matches == null) {
+                matches = rows.clone();
+            } else {
+                matches.and(rows);
+            }
+            if (matches.isEmpty()) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the number of rows holding the given key.
+     *
+     * @param key the key
+     * @return the number of rows
+     */
+    public int count(K key) {
+        RoaringBitmap rows = rowsByKey.get(key);
+        return rows == null ? 0 : rows.getCardinality();
+    }
+
+
+    // The row's keys as a fixed-size list backed by its array; the array only ever holds keys of type K.
+    @SuppressWarnings("unchecked")
+    private List<K> keysOf(int row) {
+        Object[] keys = row < keysByRow.size() ? keysByRow.get(row) : null;
+        return keys == null ? Collections.emptyList() : (List<K>) Arrays.asList(keys);
+    }
+
+    private void setKeys(int row, Object[] keys) {
+        while (keysByRow.size() <= row) {
+            keysByRow.add(null);
+        }
+        keysByRow.set(row, keys);
+    }
+
+    private void link(int row, K key) {
+        rowsByKey.computeIfAbsent(key, k -> new RoaringBitmap()).add(row);
+    }
+
+    private void unlink(int row, K key) {
+        RoaringBitmap rows = rowsByKey.get(key);
+        if (rows != null && rows.checkedRemove(row) && rows.isEmpty()) {
+            rowsByKey.remove(key);
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.cbfacademy.apiassessment.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Index from text tokens to the rows that contain them, answering prefix queries for type-ahead lookups.
+ * <p>
+ * Text is split into lower-case tokens at every character that is not a letter or digit, so
+ * {@code "judah.david@gmail.com"} yields {@code judah}, {@code david}, {@code gmail} and {@code com}. Tokens are kept
+ * in sorted order, so the tokens starting with a prefix are one contiguous range of the map, found in logarithmic
+ * time; each token's rows are kept in a compressed {@link RoaringBitmap}. Like {@link InvertedIndex}, the index
+ * remembers the tokens of each row, so a row can be re-indexed or removed without the caller supplying its previous
+ * text.
+ * </p>
+ * <p>
+ * Not thread-safe; the owning repository is responsible for synchronization.
+ * </p>
+ */
+public class PrefixIndex {
+
+    // Rows containing each token, in token order.
+    private final NavigableMap<String, RoaringBitmap> rowsByToken = new TreeMap<>();
+
+    // Tokens indexed for each row, by row number; null for rows with no tokens.
+    private final List<Set<String>> tokensByRow = new ArrayList<>();
+
+
+    /**
+     * Splits text into lower-case tokens at every character that is not a letter or digit.
+     *
+     * @param text the text, may be null
+     * @return the distinct tokens in order of first appearance
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letterOrDigit = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Replaces the tokens indexed for a row. Only the tokens that changed are touched.
+     *
+     * @param row    the row number
+     * @param tokens the row's tokens, already normalized; null or empty to remove the row from the index
+     */
+    public void index(int row, Collection<String> tokens) {
+        Set<String> previous = tokensOf(row);
+        Set<String> current = tokens == null ? Collections.emptySet() : new HashSet<>(tokens);
+        for (String token : previous) {
+            if (!current.contains(token)) {
+                RoaringBitmap rows = rowsByToken.get(token);
+                rows.remove(row);
+                if (rows.isEmpty()) {
+                    rowsByToken.remove(token);
+                }
+            }
+        }
+        for (String token : current) {
+            if (!previous.contains(token)) {
+                rowsByToken.computeIfAbsent(token, t -> new RoaringBitmap()).add(row);
+            }
+        }
+        while (tokensByRow.size() <= row) {
+            tokensByRow.add(null);
+        }
+        tokensByRow.set(row, current.isEmpty() ? null : current);
+    }
+
+    /**
+     * Removes a row and all of its tokens from the index.
+     *
+     * @param row the row number
+     */
+    public void removeRow(int row) {
+        index(row, null);
+    }
+
+    /**
+     * Returns the rows with a token starting with the given prefix.
+     *
+     * @param prefix the normalized prefix
+     * @return a new bitmap of the matching rows, which the caller may modify
+     */
+    public RoaringBitmap rowsWithPrefix(String prefix) {
+        RoaringBitmap matches = new RoaringBitmap();
+        for (RoaringBitmap rows : rowsByToken.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            matches.or(rows);
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the rows that, for every term of the query, have a token starting with that term.
+     *
+     * @param terms the normalized query terms
+     * @return a new bitmap of the matching rows, empty if there are no terms
+     */
+    public RoaringBitmap rowsMatchingAll(Collection<String> terms) {
+        RoaringBitmap matches = null;
+        for (String term : terms) {
+            RoaringBitmap rows = rowsWithPrefix(term);
+            if (matches == null) {
+                matches = rows;
+            } else {
+                matches.and(rows);
+            }
+            if (matches.isEmpty()) {
+                break;
+            }
+        }
+        return matches == null ? new RoaringBitmap() : matches;
+    }
+
+    /**
+     * Returns the number of distinct tokens in the index.
+     *
+     * @return the number of tokens
+     */
+    public int size() {
+        return rowsByToken.size();
+    }
+
+
+    private Set<String> tokensOf(int row) {
+        Set<String> tokens = row < tokensByRow.size() ? tokensByRow.get(row) : null;
+        return tokens == null ? Collections.emptySet() : tokens;
+    }
+
+}
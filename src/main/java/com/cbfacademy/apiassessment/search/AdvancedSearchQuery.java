@@ -13,6 +13,7 @@ public class AdvancedSearchQuery {
     private List<String> skills; // List of skills to match against volunteers
     private boolean isActive; // Flag to indicate if only active volunteers should be considered
     private String role; // The role to match against volunteers
+    private SkillMatch skillMatch = SkillMatch.ANY; // How the skills are matched and whether results are ranked
 
 
     public AdvancedSearchQuery() {
@@ -72,4 +73,12 @@ public class AdvancedSearchQuery {
         this.role = role;
     }
 
+    public SkillMatch getSkillMatch() {
+        return skillMatch;
+    }
+
+    public void setSkillMatch(SkillMatch skillMatch) {
+        this.skillMatch = skillMatch == null ? SkillMatch.ANY : skillMatch;
+    }
+
 }
\ No newline at end of file
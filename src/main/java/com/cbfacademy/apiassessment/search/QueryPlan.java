@@ -0,0 +1,184 @@
+package com.cbfacademy.apiassessment.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The order and access method chosen for each predicate of an {@link AdvancedSearchQuery}, with the estimated
+ * number of rows left after each step and, once the plan has run, the actual number.
+ */
+public class QueryPlan {
+
+    /**
+     * How a step narrows down the candidate rows.
+     */
+    public enum Access {
+        /** Starts from the rows the predicate's index holds. */
+        SCAN,
+        /** Intersects the candidates with the rows the predicate's index holds. */
+        INTERSECT,
+        /** Checks each candidate's indexed value, without reading the predicate's rows from the index. */
+        FILTER,
+        /** Tests every predicate at once in a scan over the columnar store, without using the indexes. */
+        COLUMN_SCAN
+    }
+
+    /**
+     * One predicate of the query, in the order it is applied.
+     */
+    public static class Step {
+
+        // The volunteer property the predicate tests: active, role or skills, or a list of them for a column scan.
+        private final String field;
+
+        // The values the property must have.
+        private final String condition;
+
+        // How the predicate is applied.
+        private final Access access;
+
+        // Number of rows the predicate matches on its own, according to the index statistics.
+        private final long indexRows;
+
+        // Estimated number of candidates left after this step.
+        private final long estimatedRows;
+
+        // Estimated cost of this step, in rows-touched units.
+        private final double estimatedCost;
+
+        // Actual number of candidates left after this step, or -1 if the plan has not run.
+        private long actualRows = -1;
+
+
+        /**
+         * Constructs a step.
+         *
+         * @param field         the volunteer property the predicate tests
+         * @param condition     the values the property must have
+         * @param access        how the predicate is applied
+         * @param indexRows     the rows the predicate matches on its own
+         * @param estimatedRows the estimated candidates left after this step
+         * @param estimatedCost the estimated cost of this step
+         */
+        public Step(String field, String condition, Access access, long indexRows, long estimatedRows, double estimatedCost) {
+            this.field = field;
+            this.condition = condition;
+            this.access = access;
+            this.indexRows = indexRows;
+            this.estimatedRows = estimatedRows;
+            this.estimatedCost = estimatedCost;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public String getCondition() {
+            return condition;
+        }
+
+        public Access getAccess() {
+            return access;
+        }
+
+        public long getIndexRows() {
+            return indexRows;
+        }
+
+        public long getEstimatedRows() {
+            return estimatedRows;
+        }
+
+        public double getEstimatedCost() {
+            return estimatedCost;
+        }
+
+        public long getActualRows() {
+            return actualRows;
+        }
+
+        /**
+         * Records the number of candidates actually left after this step.
+         *
+         * @param actualRows the number of rows
+         */
+        public void setActualRows(long actualRows) {
+            this.actualRows = actualRows;
+        }
+
+    }
+
+
+    // Number of volunteers the plan was made for.
+    private final long totalRows;
+
+    // The steps, in the order they are applied.
+    private final List<Step> steps = new ArrayList<>();
+
+    // Time taken to run the plan, or -1 if it has not run.
+    private long elapsedMicros = -1;
+
+
+    /**
+     * Constructs an empty plan.
+     *
+     * @param totalRows the number of volunteers the plan was made for
+     */
+    public QueryPlan(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    /**
+     * Appends a step.
+     *
+     * @param step the step to apply after the existing ones
+     */
+    public void addStep(Step step) {
+        steps.add(step);
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public List<Step> getSteps() {
+        return Collections.unmodifiableList(steps);
+    }
+
+    /**
+     * Returns the estimated number of matching volunteers.
+     *
+     * @return the estimated rows after the last step
+     */
+    public long getEstimatedRows() {
+        return steps.isEmpty() ? totalRows : steps.get(steps.size() - 1).getEstimatedRows();
+    }
+
+    /**
+     * Returns the actual number of matching volunteers.
+     *
+     * @return the rows left after the last step, or -1 if the plan has not run
+     */
+    public long getActualRows() {
+        return steps.isEmpty() ? -1 : steps.get(steps.size() - 1).getActualRows();
+    }
+
+    /**
+     * Returns the estimated cost of the whole plan.
+     *
+     * @return the sum of the steps' estimated costs
+     */
+    public double getEstimatedCost() {
+        return steps.stream().mapToDouble(Step::getEstimatedCost).sum();
+    }
+
+    public long getElapsedMicros() {
+        return elapsedMicros;
+    }
+
+    public void setElapsedMicros(long elapsedMicros) {
+        this.elapsedMicros = elapsedMicros;
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.cbfacademy.apiassessment.search;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.cbfacademy.apiassessment.index.Dictionary;
+
+/**
+ * Normalized form of an {@link AdvancedSearchQuery}, used as a cache key. Queries that select the same volunteers
+ * map to equal keys: the role and skills are replaced by their codes in the repository's {@link Dictionary}s, the skills are
+ * de-duplicated and sorted, and an empty skill list is the same as none. A {@link SkillMatch#RANKED} query selects
+ * the same volunteers as an {@link SkillMatch#ANY} one, so both map to ANY.
+ * <p>
+ * A role or skill no volunteer has ever had maps to {@link Dictionary#NONE}, which matches nothing. Such a key is
+ * not {@linkplain #resolved() resolved}: the value may be given a code later, so results for it are not cached.
+ * </p>
+ *
+ * @param active    whether the query selects active or inactive volunteers
+ * @param role      the code of the role to match, or null for any role
+ * @param skills    the codes of the skills to match, or empty for any skills
+ * @param allSkills whether a volunteer needs all of the skills rather than at least one
+ */
+public record SearchKey(boolean active, Integer role, SortedSet<Integer> skills, boolean allSkills) {
+
+    /**
+     * Normalizes a query. Values are only looked up in the dictionaries, never added to them.
+     *
+     * @param query  the query
+     * @param roles  the dictionary of roles
+     * @param skills the dictionary of skills
+     * @return the key for the query
+     */
+    public static SearchKey of(AdvancedSearchQuery query, Dictionary roles, Dictionary skills) {
+        SortedSet<Integer> codes = new TreeSet<>();
+        if (query.getSkills() != null) {
+            for (String skill : query.getSkills()) {
+                if (skill != null) {
+                    codes.add(skills.find(skill));
+                }
+            }
+        }
+        Integer role = query.getRole() != null ? roles.find(query.getRole()) : null;
+        return new SearchKey(query.isActive(), role, Collections.unmodifiableSortedSet(codes),
+                query.getSkillMatch() == SkillMatch.ALL && !codes.isEmpty());
+    }
+
+    /**
+     * Tells whether every role and skill in the key is a known value.
+     *
+     * @return false if the key holds {@link Dictionary#NONE}
+     */
+    public boolean resolved() {
+        return (role == null || role != Dictionary.NONE) && !skills.contains(Dictionary.NONE);
+    }
+
+    /**
+     * Tells whether a volunteer with the given attributes would be selected by this query. A change to a volunteer
+     * can only alter the query's result if this holds for the volunteer before or after the change.
+     *
+     * @param active the volunteer's active status
+     * @param role   the code of the volunteer's role, or null if none
+     * @param skills the codes of the volunteer's skills
+     * @return true if the volunteer matches
+     */
+    public boolean matches(boolean active, Integer role, Collection<Integer> skills) {
+        if (this.active != active) {
+            return false;
+        }
+        if (this.role != null && !this.role.equals(role)) {
+            return false;
+        }
+        if (this.skills.isEmpty()) {
+            return true;
+        }
+        if (allSkills) {
+            return skills.containsAll(this.skills);
+        }
+        for (Integer skill : skills) {
+            if (this.skills.contains(skill)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.cbfacademy.apiassessment.search;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Bounded cache of advanced search results, keyed by the normalized query.
+ * <p>
+ * Entries are weighed by the number of results they hold, so the bound limits the total number of result
+ * references kept rather than the number of queries, and are evicted by Caffeine's frequency-based (W-TinyLFU)
+ * policy. When a volunteer changes, only the entries whose query the volunteer matched before or after the change
+ * are dropped; queries for other roles, skills or active status stay cached.
+ * </p>
+ * <p>
+ * The cache does not order lookups against changes itself: the owning repository loads entries while holding its
+ * read lock and invalidates them while holding its write lock, so no result computed before a change can be stored
+ * after it.
+ * </p>
+ *
+ * @param <V> the result element type
+ */
+public class SearchResultCache<V> {
+
+    // Cached results, null when caching is disabled.
+    private final Cache<SearchKey, List<V>> results;
+
+
+    /**
+     * Creates a cache holding at most the given total number of results across all queries.
+     *
+     * @param maximumResults the bound on cached results; 0 disables the cache
+     */
+    public SearchResultCache(long maximumResults) {
+        this.results = maximumResults <= 0 ? null : Caffeine.newBuilder()
+                .maximumWeight(maximumResults)
+                .weigher((SearchKey key, List<V> value) -> value.size() + 1)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached result for a normalized query, computing and caching it if absent. Queries naming a role or skill
+     * that is not yet known are computed every time, since the value may become known later.
+     *
+     * @param key    the normalized query
+     * @param search computes the result for a query; its result must not be modified afterwards
+     * @return the result
+     */
+    public List<V> get(SearchKey key, Function<SearchKey, List<V>> search) {
+        return results == null || !key.resolved() ? search.apply(key) : results.get(key, search);
+    }
+
+    /**
+     * Drops the results of every query that a volunteer with the given attributes matches.
+     *
+     * @param active the volunteer's active status
+     * @param role   the code of the volunteer's role, or null if none
+     * @param skills the codes of the volunteer's skills
+     */
+    public void invalidate(boolean active, Integer role, Collection<Integer> skills) {
+        invalidateIf(key -> key.matches(active, role, skills));
+    }
+
+    /**
+     * Drops the results of every query matching the predicate.
+     *
+     * @param affected selects the queries whose results may have changed
+     */
+    public void invalidateIf(Predicate<SearchKey> affected) {
+        if (results != null && results.estimatedSize() > 0) {
+            results.asMap().keySet().removeIf(affected);
+        }
+    }
+
+    /**
+     * Drops every cached result.
+     */
+    public void invalidateAll() {
+        if (results != null) {
+            results.invalidateAll();
+        }
+    }
+
+    /**
+     * Returns the hit, miss and eviction counts since the cache was created.
+     *
+     * @return the statistics, all zero when caching is disabled
+     */
+    public CacheStats stats() {
+        return results == null ? CacheStats.empty() : results.stats();
+    }
+
+    /**
+     * Returns the approximate number of cached queries.
+     *
+     * @return the number of entries
+     */
+    public long size() {
+        return results == null ? 0 : results.estimatedSize();
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.cbfacademy.apiassessment.search;
+
+/**
+ * How the skills of an {@link AdvancedSearchQuery} are matched against a volunteer's skills.
+ */
+public enum SkillMatch {
+
+    /** The volunteer holds at least one of the skills. Results are in insertion order. */
+    ANY,
+
+    /** The volunteer holds every one of the skills. Results are in insertion order. */
+    ALL,
+
+    /**
+     * The volunteer holds at least one of the skills, and results are ordered by how many of them they hold, most
+     * first, ties in insertion order. Only the top results are returned.
+     */
+    RANKED
+
+}
@@ -0,0 +1,69 @@
+package com.cbfacademy.apiassessment.storage;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.cbfacademy.apiassessment.volunteer.Volunteer;
+import com.google.gson.Gson;
+
+/**
+ * Migrates a JSON volunteer snapshot to the binary format read by {@link BinaryVolunteerSnapshot}.
+ * <p>
+ * Can be run from the command line:
+ * </p>
+ * <pre>
+ * java -cp target/classes:... com.cbfacademy.apiassessment.storage.BinarySnapshotConverter [input.json] [output.bin]
+ * </pre>
+ * <p>
+ * The repository also runs the conversion automatically on startup when the binary format is selected and only
+ * the JSON file exists.
+ * </p>
+ */
+public final class BinarySnapshotConverter {
+
+    private BinarySnapshotConverter() {
+        // Utility class
+    }
+
+    /**
+     * Converts the given JSON snapshot into a binary snapshot. The output is written to a temporary file and moved
+     * into place, so an existing binary snapshot is never left half-written.
+     *
+     * @param json   the JSON snapshot to read
+     * @param binary the binary snapshot to write
+     * @param loader the loader used to read the JSON snapshot
+     * @return the number of volunteers converted
+     * @throws IOException if either file cannot be accessed
+     */
+    public static int convert(Path json, Path binary, StreamingVolunteerLoader loader) throws IOException {
+        List<Volunteer> volunteers = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(json, StandardCharsets.UTF_8)) {
+            loader.load(reader, json.toString(), volunteers::add);
+        }
+        Path temp = binary.resolveSibling(binary.getFileName() + ".tmp");
+        BinaryVolunteerSnapshot.write(temp, volunteers);
+        Files.move(temp, binary, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return volunteers.size();
+    }
+
+    /**
+     * Command-line entry point.
+     *
+     * @param args optional input and output paths, defaulting to the bundled volunteers.json and volunteers.bin
+     * @throws IOException if either file cannot be accessed
+     */
+    public static void main(String[] args) throws IOException {
+        Path json = Path.of(args.length > 0 ? args[0] : "src/main/resources/volunteers.json");
+        Path binary = Path.of(args.length > 1 ? args[1] : "src/main/resources/volunteers.bin");
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int converted = convert(json, binary, new StreamingVolunteerLoader(new Gson(), parallelism, 1000, 100_000));
+        System.out.printf("Converted %d volunteers from %s to %s%n", converted, json, binary);
+    }
+
+}
@@ -0,0 +1,270 @@
+package com.cbfacademy.apiassessment.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+import com.cbfacademy.apiassessment.volunteer.Volunteer;
+
+/**
+ * Memory-mapped binary snapshot of volunteers.
+ * <p>
+ * Opening a snapshot only maps the file and validates its header, so startup time does not depend on the number
+ * of volunteers. Each record is decoded the first time it is accessed and the decoded instance is cached, so
+ * repeated access returns the same object.
+ * </p>
+ * <p>
+ * File layout (all numbers big-endian):
+ * </p>
+ * <pre>
+ * header   magic "VOLS" (int), version (int), record count (int), reserved (int)
+ * index    one 32-byte entry per record in file order: id msb (long), id lsb (long),
+ *          record offset (long), record length (int), reserved (int)
+ * lookup   one int per record: index positions sorted by id, for binary search
+ * data     records: flags (byte, bit 0 = active), first name, last name, contact number, email, role,
+ *          skill count (int) followed by the skills; strings are a byte length (int, -1 for null)
+ *          followed by UTF-8 bytes
+ * </pre>
+ */
+public class BinaryVolunteerSnapshot {
+
+    // "VOLS" in ASCII, identifies a volunteer snapshot file.
+    private static final int MAGIC = 0x564F4C53;
+
+    // Version of the file layout described above.
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 16;
+    private static final int INDEX_ENTRY_SIZE = 32;
+    private static final int LOOKUP_ENTRY_SIZE = 4;
+
+    // Read-only mapping of the whole file.
+    private final MappedByteBuffer buffer;
+
+    // Number of records in the file.
+    private final int size;
+
+    // Records decoded so far, by index position. Guarded by decodeLock, a ReentrantLock rather than a monitor so
+    // virtual threads decoding a record do not pin their carrier thread.
+    private final Volunteer[] decoded;
+    private final ReentrantLock decodeLock = new ReentrantLock();
+
+
+    private BinaryVolunteerSnapshot(MappedByteBuffer buffer, int size) {
+        this.buffer = buffer;
+        this.size = size;
+        this.decoded = new Volunteer[size];
+    }
+
+    /**
+     * Maps an existing snapshot file. Only the header is read; records are decoded lazily.
+     *
+     * @param path the snapshot file
+     * @return the mapped snapshot
+     * @throws IOException if the file cannot be mapped or is not a volunteer snapshot
+     */
+    public static BinaryVolunteerSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Volunteer snapshot is too large to map: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a volunteer snapshot: " + path);
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported volunteer snapshot version " + buffer.getInt(4) + ": " + path);
+            }
+            return new BinaryVolunteerSnapshot(buffer, buffer.getInt(8));
+        }
+    }
+
+    /**
+     * Writes the given volunteers to a new snapshot file, replacing any existing content.
+     *
+     * @param path       the file to write
+     * @param volunteers the volunteers to write, in the order they should be read back
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, List<Volunteer> volunteers) throws IOException {
+        int count = volunteers.size();
+        long dataOffset = HEADER_SIZE + (long) count * (INDEX_ENTRY_SIZE + LOOKUP_ENTRY_SIZE);
+        long[] offsets = new long[count];
+        int[] lengths = new int[count];
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            // Write the records first, so their offsets are known when the index is written.
+            channel.position(dataOffset);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            long position = dataOffset;
+            for (int i = 0; i < count; i++) {
+                int start = out.size();
+                writeRecord(out, volunteers.get(i));
+                offsets[i] = position;
+                lengths[i] = out.size() - start;
+                position += lengths[i];
+            }
+            out.flush();
+
+            // Lookup table: index positions ordered by id.
+            List<Integer> byId = new ArrayList<>(IntStream.range(0, count).boxed().toList());
+            byId.sort(Comparator.comparing(i -> volunteers.get(i).getId()));
+
+            ByteBuffer head = ByteBuffer.allocate((int) dataOffset);
+            head.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(0);
+            for (int i = 0; i < count; i++) {
+                UUID id = volunteers.get(i).getId();
+                head.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits())
+                        .putLong(offsets[i]).putInt(lengths[i]).putInt(0);
+            }
+            for (int index : byId) {
+                head.putInt(index);
+            }
+            head.flip();
+            long written = 0;
+            while (head.hasRemaining()) {
+                written += channel.write(head, written);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of volunteers in the snapshot.
+     *
+     * @return the number of records
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the ID of the record at the given position without decoding the record.
+     *
+     * @param index the record position, in file order
+     * @return the volunteer ID
+     */
+    public UUID idAt(int index) {
+        int entry = HEADER_SIZE + index * INDEX_ENTRY_SIZE;
+        return new UUID(buffer.getLong(entry), buffer.getLong(entry + 8));
+    }
+
+    /**
+     * Returns the volunteer at the given position, decoding it on first access.
+     *
+     * @param index the record position, in file order
+     * @return the decoded volunteer
+     */
+    public Volunteer get(int index) {
+        decodeLock.lock();
+        try {
+            Volunteer volunteer = decoded[index];
+            if (volunteer == null) {
+                volunteer = decode(index);
+                decoded[index] = volunteer;
+            }
+            return volunteer;
+        } finally {
+            decodeLock.unlock();
+        }
+    }
+
+    /**
+     * Looks up a volunteer by ID using a binary search over the lookup table, decoding only the matching record.
+     *
+     * @param id the volunteer ID
+     * @return the volunteer, or an empty {@link Optional} if the snapshot does not contain the ID
+     */
+    public Optional<Volunteer> find(UUID id) {
+        int lookup = HEADER_SIZE + size * INDEX_ENTRY_SIZE;
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int index = buffer.getInt(lookup + middle * LOOKUP_ENTRY_SIZE);
+            int comparison = idAt(index).compareTo(id);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return Optional.of(get(index));
+            }
+        }
+        return Optional.empty();
+    }
+
+
+    // Decodes the record at the given index position.
+    private Volunteer decode(int index) {
+        int entry = HEADER_SIZE + index * INDEX_ENTRY_SIZE;
+        int[] position = { (int) buffer.getLong(entry + 16) };
+        boolean active = (buffer.get(position[0]++) & 1) != 0;
+        String firstName = readString(position);
+        String lastName = readString(position);
+        String contactNumber = readString(position);
+        String email = readString(position);
+        String role = readString(position);
+        int skillCount = buffer.getInt(position[0]);
+        position[0] += 4;
+        List<String> skills = skillCount <= 0 ? Collections.emptyList() : new ArrayList<>(skillCount);
+        for (int i = 0; i < skillCount; i++) {
+            skills.add(readString(position));
+        }
+        return new Volunteer(idAt(index), firstName, lastName, contactNumber, email, role, skills, active);
+    }
+
+    // Reads a length-prefixed UTF-8 string at position[0] and advances it.
+    private String readString(int[] position) {
+        int length = buffer.getInt(position[0]);
+        position[0] += 4;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position[0], bytes);
+        position[0] += length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Encodes a single record. Null skill lists are written as empty.
+    private static void writeRecord(DataOutputStream out, Volunteer volunteer) throws IOException {
+        out.writeByte(volunteer.isActive() ? 1 : 0);
+        writeString(out, volunteer.getFirstName());
+        writeString(out, volunteer.getLastName());
+        writeString(out, volunteer.getContactNumber());
+        writeString(out, volunteer.getEmail());
+        writeString(out, volunteer.getRole());
+        List<String> skills = volunteer.getSkills() == null ? Collections.emptyList() : volunteer.getSkills();
+        out.writeInt(skills.size());
+        for (String skill : skills) {
+            writeString(out, skill);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.cbfacademy.apiassessment.storage;
+
+/**
+ * Describes when a mutation is written to disk relative to the request that made it.
+ */
+public enum Durability {
+
+    /**
+     * The mutation is written to disk on the request thread before the repository call returns.
+     * Every mutation pays for its own write.
+     */
+    SYNC,
+
+    /**
+     * The request thread waits until the mutation is on disk, but the write is done by a background flusher
+     * that persists every mutation that arrived since the previous flush in one go. Concurrent requests
+     * therefore share a single disk write.
+     */
+    GROUP_COMMIT,
+
+    /**
+     * The repository call returns as soon as the in-memory state is updated. Dirty state is flushed in the
+     * background on a timer, when the number of unflushed mutations reaches a threshold, and at shutdown.
+     * A crash can lose the mutations made since the last flush.
+     */
+    ASYNC
+}
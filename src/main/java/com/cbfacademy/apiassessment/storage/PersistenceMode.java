@@ -0,0 +1,18 @@
+package com.cbfacademy.apiassessment.storage;
+
+/**
+ * Describes how the volunteer repository writes mutations to disk.
+ */
+public enum PersistenceMode {
+
+    /**
+     * Every mutation rewrites the whole snapshot file. Simple, but each write costs O(N).
+     */
+    SNAPSHOT,
+
+    /**
+     * Every mutation appends a single record to a write-ahead log. The log is replayed on top of
+     * the last snapshot at startup and periodically compacted into a fresh snapshot in the background.
+     */
+    WAL
+}
@@ -0,0 +1,18 @@
+package com.cbfacademy.apiassessment.storage;
+
+/**
+ * The on-disk format of the volunteer snapshot file.
+ */
+public enum SnapshotFormat {
+
+    /**
+     * A JSON array of volunteers, parsed in full at startup.
+     */
+    JSON,
+
+    /**
+     * A binary file with a fixed-size header and record index that is memory-mapped at startup.
+     * Records are only decoded when they are first accessed. See {@link BinaryVolunteerSnapshot}.
+     */
+    BINARY
+}
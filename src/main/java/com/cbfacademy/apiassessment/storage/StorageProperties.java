@@ -0,0 +1,390 @@
+package com.cbfacademy.apiassessment.storage;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for how volunteer data is persisted, bound from the {@code volunteers.storage.*} properties.
+ * The defaults reproduce the original behaviour: a single JSON file rewritten on every change.
+ */
+@Component
+@ConfigurationProperties(prefix = "volunteers.storage")
+public class StorageProperties {
+
+    // Path to the JSON snapshot file where volunteer data is stored.
+    private String file = "src/main/resources/volunteers.json";
+
+    // On-disk format of the snapshot. The binary snapshot is stored next to the JSON file with a .bin extension.
+    private SnapshotFormat format = SnapshotFormat.JSON;
+
+    // Number of shard files the volunteers are split across by ID hash; 1 keeps everything in the snapshot file.
+    private int shardCount = 1;
+
+    // Directory holding the shard files when shardCount is greater than 1; defaults to the directory of the snapshot file.
+    private String directory;
+
+    // Number of threads parsing the JSON snapshot at startup; 1 parses on the loading thread.
+    private int loadParallelism = 1;
+
+    // Number of records per chunk handed to a parsing thread when loadParallelism is greater than 1.
+    private int loadChunkSize = 1000;
+
+    // How mutations are written to disk.
+    private PersistenceMode mode = PersistenceMode.SNAPSHOT;
+
+    // Number of log records after which the write-ahead log is compacted into a new snapshot.
+    private int compactionThreshold = 1000;
+
+    // How often the background compactor checks whether the log has grown past the threshold.
+    private Duration compactionInterval = Duration.ofSeconds(30);
+
+    // When mutations are written to disk relative to the request that made them.
+    private Durability durability = Durability.SYNC;
+
+    // Maximum time dirty state may stay unflushed in ASYNC mode.
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    // Number of unflushed mutations that triggers an early flush in ASYNC mode.
+    private int flushThreshold = 100;
+
+    // Maximum total number of volunteers held across all cached search results; 0 disables the cache.
+    private long searchCacheSize = 100_000;
+
+    // Maximum number of volunteers whose JSON encoding is cached for responses; 0 disables the cache.
+    private long jsonCacheSize = 100_000;
+
+    // Whether advanced searches scan a columnar copy of the searchable attributes instead of using the indexes.
+    private boolean columnar = false;
+
+    // Number of threads splitting large search scans; 1 scans on the calling thread.
+    private int scanParallelism = 1;
+
+    // Number of rows from which a scan is split across the scan threads.
+    private int parallelScanThreshold = 100_000;
+
+
+    /**
+     * Returns the path of the snapshot file.
+     *
+     * @return the path of the snapshot file.
+     */
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * Sets the path of the snapshot file.
+     *
+     * @param file the path of the snapshot file.
+     */
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+
+    /**
+     * Returns the on-disk format of the snapshot.
+     *
+     * @return the snapshot format.
+     */
+    public SnapshotFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Sets the on-disk format of the snapshot.
+     *
+     * @param format the snapshot format.
+     */
+    public void setFormat(SnapshotFormat format) {
+        this.format = format;
+    }
+
+
+    /**
+     * Returns the number of shard files the volunteers are split across.
+     *
+     * @return the shard count.
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Sets the number of shard files the volunteers are split across.
+     *
+     * @param shardCount the shard count; 1 keeps everything in the snapshot file.
+     */
+    public void setShardCount(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+
+    /**
+     * Returns the directory holding the shard files.
+     *
+     * @return the shard directory, or null to use the directory of the snapshot file.
+     */
+    public String getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Sets the directory holding the shard files.
+     *
+     * @param directory the shard directory, or null to use the directory of the snapshot file.
+     */
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+
+    /**
+     * Returns the number of threads parsing the JSON snapshot at startup.
+     *
+     * @return the load parallelism.
+     */
+    public int getLoadParallelism() {
+        return loadParallelism;
+    }
+
+    /**
+     * Sets the number of threads parsing the JSON snapshot at startup.
+     *
+     * @param loadParallelism the load parallelism; 1 parses on the loading thread.
+     */
+    public void setLoadParallelism(int loadParallelism) {
+        this.loadParallelism = loadParallelism;
+    }
+
+
+    /**
+     * Returns the number of records per chunk handed to a parsing thread.
+     *
+     * @return the load chunk size.
+     */
+    public int getLoadChunkSize() {
+        return loadChunkSize;
+    }
+
+    /**
+     * Sets the number of records per chunk handed to a parsing thread.
+     *
+     * @param loadChunkSize the load chunk size, must be positive.
+     */
+    public void setLoadChunkSize(int loadChunkSize) {
+        this.loadChunkSize = loadChunkSize;
+    }
+
+
+    /**
+     * Returns the persistence mode used by the repository.
+     *
+     * @return the persistence mode.
+     */
+    public PersistenceMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Sets the persistence mode used by the repository.
+     *
+     * @param mode the persistence mode.
+     */
+    public void setMode(PersistenceMode mode) {
+        this.mode = mode;
+    }
+
+
+    /**
+     * Returns the number of log records that triggers a compaction.
+     *
+     * @return the compaction threshold.
+     */
+    public int getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * Sets the number of log records that triggers a compaction.
+     *
+     * @param compactionThreshold the compaction threshold, must be positive.
+     */
+    public void setCompactionThreshold(int compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+
+    /**
+     * Returns how often the background compactor runs.
+     *
+     * @return the compaction interval.
+     */
+    public Duration getCompactionInterval() {
+        return compactionInterval;
+    }
+
+    /**
+     * Sets how often the background compactor runs.
+     *
+     * @param compactionInterval the compaction interval.
+     */
+    public void setCompactionInterval(Duration compactionInterval) {
+        this.compactionInterval = compactionInterval;
+    }
+
+
+    /**
+     * Returns when mutations are written to disk relative to the request that made them.
+     *
+     * @return the durability setting.
+     */
+    public Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Sets when mutations are written to disk relative to the request that made them.
+     *
+     * @param durability the durability setting.
+     */
+    public void setDurability(Durability durability) {
+        this.durability = durability;
+    }
+
+
+    /**
+     * Returns the maximum time dirty state may stay unflushed in ASYNC mode.
+     *
+     * @return the flush interval.
+     */
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Sets the maximum time dirty state may stay unflushed in ASYNC mode.
+     *
+     * @param flushInterval the flush interval.
+     */
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+
+    /**
+     * Returns the number of unflushed mutations that triggers an early flush in ASYNC mode.
+     *
+     * @return the flush threshold.
+     */
+    public int getFlushThreshold() {
+        return flushThreshold;
+    }
+
+    /**
+     * Sets the number of unflushed mutations that triggers an early flush in ASYNC mode.
+     *
+     * @param flushThreshold the flush threshold, must be positive.
+     */
+    public void setFlushThreshold(int flushThreshold) {
+        this.flushThreshold = flushThreshold;
+    }
+
+
+    /**
+     * Returns the maximum total number of volunteers held across all cached search results.
+     *
+     * @return the search cache size, 0 if the cache is disabled.
+     */
+    public long getSearchCacheSize() {
+        return searchCacheSize;
+    }
+
+    /**
+     * Sets the maximum total number of volunteers held across all cached search results.
+     *
+     * @param searchCacheSize the search cache size, 0 to disable the cache.
+     */
+    public void setSearchCacheSize(long searchCacheSize) {
+        this.searchCacheSize = searchCacheSize;
+    }
+
+
+    /**
+     * Returns the maximum number of volunteers whose JSON encoding is cached for responses.
+     *
+     * @return the JSON cache size, 0 if the cache is disabled.
+     */
+    public long getJsonCacheSize() {
+        return jsonCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of volunteers whose JSON encoding is cached for responses.
+     *
+     * @param jsonCacheSize the JSON cache size, 0 to disable the cache.
+     */
+    public void setJsonCacheSize(long jsonCacheSize) {
+        this.jsonCacheSize = jsonCacheSize;
+    }
+
+
+    /**
+     * Returns whether advanced searches and active-status lookups scan the columnar store.
+     *
+     * @return true to scan the columns, false to use the indexes.
+     */
+    public boolean isColumnar() {
+        return columnar;
+    }
+
+    /**
+     * Sets whether advanced searches and active-status lookups scan the columnar store.
+     *
+     * @param columnar true to scan the columns, false to use the indexes.
+     */
+    public void setColumnar(boolean columnar) {
+        this.columnar = columnar;
+    }
+
+
+    /**
+     * Returns the number of threads splitting large search scans.
+     *
+     * @return the scan parallelism.
+     */
+    public int getScanParallelism() {
+        return scanParallelism;
+    }
+
+    /**
+     * Sets the number of threads splitting large search scans.
+     *
+     * @param scanParallelism the scan parallelism; 1 scans on the calling thread.
+     */
+    public void setScanParallelism(int scanParallelism) {
+        this.scanParallelism = scanParallelism;
+    }
+
+
+    /**
+     * Returns the number of rows from which a scan is split across the scan threads.
+     *
+     * @return the parallel scan threshold.
+     */
+    public int getParallelScanThreshold() {
+        return parallelScanThreshold;
+    }
+
+    /**
+     * Sets the number of rows from which a scan is split across the scan threads.
+     *
+     * @param parallelScanThreshold the parallel scan threshold.
+     */
+    public void setParallelScanThreshold(int parallelScanThreshold) {
+        this.parallelScanThreshold = parallelScanThreshold;
+    }
+
+}
@@ -0,0 +1,332 @@
+package com.cbfacademy.apiassessment.storage;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.cbfacademy.apiassessment.volunteer.Volunteer;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Loads a JSON array of volunteers one record at a time.
+ * <p>
+ * The top-level array is framed by a small scanner that tracks brackets, strings and line numbers, so each
+ * record is handed to Gson's {@link JsonReader} on its own. A record that cannot be decoded is skipped and
+ * reported with the line it starts on, instead of discarding the whole file; Gson's reader cannot resynchronise
+ * after an error, which is why the framing is done outside it. Only one record (or one chunk of records in
+ * parallel mode) is held in memory at a time.
+ * </p>
+ * <p>
+ * With a parallelism greater than one, framed records are grouped into chunks that are parsed on a pool of
+ * worker threads while the scanner keeps reading. Chunks are handed to the sink in file order.
+ * </p>
+ */
+public class StreamingVolunteerLoader {
+
+    /**
+     * Summary of a load: how many records were loaded and which ones were skipped.
+     */
+    public static final class Result {
+        private final int loaded;
+        private final List<Integer> skippedLines;
+
+        private Result(int loaded, List<Integer> skippedLines) {
+            this.loaded = loaded;
+            this.skippedLines = Collections.unmodifiableList(skippedLines);
+        }
+
+        public int getLoaded() {
+            return loaded;
+        }
+
+        public int getSkipped() {
+            return skippedLines.size();
+        }
+
+        /**
+         * Returns the line each skipped record starts on, in file order.
+         *
+         * @return the lines of the skipped records
+         */
+        public List<Integer> getSkippedLines() {
+            return skippedLines;
+        }
+    }
+
+    // A framed record: its JSON text and the line it starts on.
+    private record RawRecord(String json, int line) {
+    }
+
+    // The outcome of parsing one record: either a volunteer or the reason it was skipped.
+    private record ParsedRecord(Volunteer volunteer, int line, String error) {
+    }
+
+    // Logger instance for logging errors and information.
+    private static final Logger logger = LoggerFactory.getLogger(StreamingVolunteerLoader.class);
+
+    // Gson instance used to decode each record.
+    private final Gson gson;
+
+    // Number of threads parsing records; 1 parses on the calling thread.
+    private final int parallelism;
+
+    // Number of records per chunk handed to a worker in parallel mode.
+    private final int chunkSize;
+
+    // Number of records between progress log messages.
+    private final int progressInterval;
+
+
+    /**
+     * Creates a loader.
+     *
+     * @param gson             the Gson instance used to decode each record
+     * @param parallelism      the number of parsing threads, 1 to parse on the calling thread
+     * @param chunkSize        the number of records per chunk in parallel mode
+     * @param progressInterval the number of records between progress log messages
+     */
+    public StreamingVolunteerLoader(Gson gson, int parallelism, int chunkSize, int progressInterval) {
+        this.gson = gson;
+        this.parallelism = Math.max(1, parallelism);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.progressInterval = Math.max(1, progressInterval);
+    }
+
+    /**
+     * Reads every record from the given JSON array and passes the decodable ones to the sink, in file order.
+     *
+     * @param reader the JSON source, positioned at the start of the array
+     * @param source a description of the source for log messages, such as the file path
+     * @param sink   receives each volunteer; always called on the calling thread
+     * @return a summary of the records loaded and skipped
+     * @throws IOException if the source cannot be read
+     * @throws JsonSyntaxException if the source does not contain a JSON array
+     */
+    public Result load(Reader reader, String source, Consumer<Volunteer> sink) throws IOException {
+        RecordScanner scanner = new RecordScanner(reader);
+        Progress progress = new Progress(source, sink);
+        if (parallelism == 1) {
+            RawRecord raw;
+            while ((raw = scanner.next()) != null) {
+                progress.accept(parse(raw));
+            }
+        } else {
+            loadInParallel(scanner, progress);
+        }
+        logger.info("Loaded {} volunteers from {} ({} skipped)", progress.loaded, source, progress.skippedLines.size());
+        return new Result(progress.loaded, progress.skippedLines);
+    }
+
+
+    // Frames chunks on the calling thread and parses them on a worker pool, keeping a bounded number in flight.
+    private void loadInParallel(RecordScanner scanner, Progress progress) throws IOException {
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "volunteer-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<Future<List<ParsedRecord>>> inFlight = new ArrayDeque<>();
+        try {
+            List<RawRecord> chunk = new ArrayList<>(chunkSize);
+            RawRecord raw;
+            while ((raw = scanner.next()) != null) {
+                chunk.add(raw);
+                if (chunk.size() == chunkSize) {
+                    inFlight.add(submit(workers, chunk));
+                    chunk = new ArrayList<>(chunkSize);
+                    if (inFlight.size() >= parallelism * 2) {
+                        drain(inFlight.poll(), progress);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                inFlight.add(submit(workers, chunk));
+            }
+            while (!inFlight.isEmpty()) {
+                drain(inFlight.poll(), progress);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private Future<List<ParsedRecord>> submit(ExecutorService workers, List<RawRecord> chunk) {
+        return workers.submit(() -> chunk.stream().map(this::parse).toList());
+    }
+
+    // Waits for a parsed chunk and hands its records to the sink.
+    private void drain(Future<List<ParsedRecord>> chunk, Progress progress) throws IOException {
+        try {
+            chunk.get().forEach(progress);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading volunteers", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to parse volunteers", e.getCause());
+        }
+    }
+
+    // Decodes a single framed record. Never throws: failures are returned so they can be reported in order.
+    private ParsedRecord parse(RawRecord raw) {
+        try {
+            JsonReader jsonReader = new JsonReader(new StringReader(raw.json()));
+            Volunteer volunteer = gson.fromJson(jsonReader, Volunteer.class);
+            if (volunteer == null || volunteer.getId() == null) {
+                return new ParsedRecord(null, raw.line(), "record has no id");
+            }
+            return new ParsedRecord(volunteer, raw.line(), null);
+        } catch (JsonParseException e) {
+            return new ParsedRecord(null, raw.line(), e.getMessage());
+        }
+    }
+
+    // Hands parsed records to the sink, counts them and logs progress and skipped records.
+    private final class Progress implements Consumer<ParsedRecord> {
+        private final String source;
+        private final Consumer<Volunteer> sink;
+        private final List<Integer> skippedLines = new ArrayList<>();
+        private int loaded;
+
+        private Progress(String source, Consumer<Volunteer> sink) {
+            this.source = source;
+            this.sink = sink;
+        }
+
+        @Override
+        public void accept(ParsedRecord record) {
+            if (record.error() != null) {
+                skippedLines.add(record.line());
+                logger.warn("Skipping volunteer record at {}:{}: {}", source, record.line(), record.error());
+                return;
+            }
+            sink.accept(record.volunteer());
+            loaded++;
+            if (loaded % progressInterval == 0) {
+                logger.info("Loaded {} volunteers from {}", loaded, source);
+            }
+        }
+    }
+
+    /**
+     * Splits a top-level JSON array into the text of its elements without decoding them.
+     * Tracks nesting depth, string literals and escapes so brackets inside strings are ignored.
+     */
+    private static final class RecordScanner {
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder current = new StringBuilder();
+        private int position;
+        private int limit;
+        private int line = 1;
+        private boolean started;
+        private boolean finished;
+
+        private RecordScanner(Reader reader) {
+            this.reader = reader;
+        }
+
+        // Returns the next element of the array, or null once the closing bracket (or end of input) is reached.
+        private RawRecord next() throws IOException {
+            if (finished) {
+                return null;
+            }
+            if (!started) {
+                int first = skipWhitespace();
+                if (first == -1) {
+                    finished = true;
+                    return null;
+                }
+                if (first != '[') {
+                    throw new JsonSyntaxException("Expected a JSON array of volunteers at line " + line);
+                }
+                started = true;
+            }
+
+            int c = skipWhitespace();
+            while (c == ',') {
+                c = skipWhitespace();
+            }
+            if (c == -1 || c == ']') {
+                finished = true;
+                return null;
+            }
+
+            int startLine = line;
+            current.setLength(0);
+            int depth = 0;
+            boolean inString = false;
+            boolean escaped = false;
+            while (c != -1) {
+                if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (c == '\\') {
+                        escaped = true;
+                    } else if (c == '"') {
+                        inString = false;
+                    }
+                } else if (c == '"') {
+                    inString = true;
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    if (depth == 0) {
+                        // Closing bracket of the top-level array after a primitive element.
+                        finished = true;
+                        break;
+                    }
+                    depth--;
+                } else if (c == ',' && depth == 0) {
+                    break;
+                }
+                current.append((char) c);
+                if (depth == 0 && !inString && (c == '}' || c == ']')) {
+                    break;
+                }
+                c = read();
+            }
+            return new RawRecord(current.toString(), startLine);
+        }
+
+        private int skipWhitespace() throws IOException {
+            int c = read();
+            while (c != -1 && Character.isWhitespace(c)) {
+                c = read();
+            }
+            return c;
+        }
+
+        private int read() throws IOException {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            char c = buffer[position++];
+            if (c == '\n') {
+                line++;
+            }
+            return c;
+        }
+    }
+
+}
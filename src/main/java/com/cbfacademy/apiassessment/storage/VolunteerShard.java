@@ -0,0 +1,374 @@
+package com.cbfacademy.apiassessment.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.cbfacademy.apiassessment.volunteer.Volunteer;
+import com.google.gson.Gson;
+
+/**
+ * One shard of the on-disk volunteer data: a snapshot file and, in WAL mode, its own write-ahead log.
+ * <p>
+ * Volunteers are assigned to shards by a hash of their ID (see {@link #shardOf(UUID, int)}), so a mutation only
+ * rewrites or appends to the files of the shard holding that volunteer, and shards can be loaded in parallel.
+ * With a single shard the files are the configured snapshot file and its log, exactly as before sharding; with
+ * more, shard {@code n} of {@code volunteers.json} is stored as {@code volunteers-n.json} in the configured
+ * directory, with {@code volunteers-n.bin} and {@code volunteers-n.wal} next to it.
+ * </p>
+ * <p>
+ * Snapshot writes are not synchronized here; callers serialize them per shard by holding {@link #getSnapshotLock()}.
+ * </p>
+ */
+public class VolunteerShard implements Closeable {
+
+    // Logger instance for logging errors and information.
+    private static final Logger logger = LoggerFactory.getLogger(VolunteerShard.class);
+
+    // Position of this shard in the shard list.
+    private final int number;
+
+    // JSON snapshot of this shard.
+    private final Path jsonFile;
+
+    // Binary snapshot of this shard, used with the BINARY format.
+    private final Path binaryFile;
+
+    // Write-ahead log of this shard, used in WAL mode.
+    private final Path logFile;
+
+    // On-disk format of the snapshot.
+    private final SnapshotFormat format;
+
+    // Gson instance for serializing JSON snapshots and log records.
+    private final Gson gson;
+
+    // Memory-mapped binary snapshot whose records have not been handed to the repository yet, null otherwise.
+    private volatile BinaryVolunteerSnapshot mappedSnapshot;
+
+    // Write-ahead log, null until opened.
+    private WriteAheadLog writeAheadLog;
+
+    // Log records waiting for the write-behind flusher, and whether the shard changed since the last drain. Both
+    // guarded by pendingLock, a ReentrantLock like snapshotLock so request threads queueing records do not pin
+    // their carrier.
+    private final ReentrantLock pendingLock = new ReentrantLock();
+    private final List<WriteAheadLog.Entry> pendingEntries = new ArrayList<>();
+    private boolean dirty;
+
+    // Serializes snapshot writes of this shard. A ReentrantLock rather than a monitor, so virtual threads writing
+    // the snapshot do not pin their carrier thread.
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+
+    /**
+     * Creates a shard whose snapshot is stored in the given JSON file, or next to it with a .bin extension when
+     * the binary format is used.
+     *
+     * @param number   the shard number
+     * @param jsonFile the JSON snapshot file
+     * @param format   the snapshot format
+     * @param gson     the Gson instance for JSON snapshots and log records
+     */
+    public VolunteerShard(int number, Path jsonFile, SnapshotFormat format, Gson gson) {
+        this.number = number;
+        this.jsonFile = jsonFile;
+        this.binaryFile = withExtension(jsonFile, ".bin");
+        this.logFile = withExtension(jsonFile, ".wal");
+        this.format = format;
+        this.gson = gson;
+    }
+
+    /**
+     * Creates the shards described by the storage properties, creating the shard directory if needed.
+     *
+     * @param properties the storage properties
+     * @param gson       the Gson instance for JSON snapshots and log records
+     * @return the shards, in shard number order
+     * @throws IOException if the shard directory cannot be created
+     */
+    public static List<VolunteerShard> forProperties(StorageProperties properties, Gson gson) throws IOException {
+        Path file = Path.of(properties.getFile());
+        int count = Math.max(1, properties.getShardCount());
+        if (count == 1) {
+            return List.of(new VolunteerShard(0, file, properties.getFormat(), gson));
+        }
+        Path directory = properties.getDirectory() != null
+                ? Path.of(properties.getDirectory())
+                : file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String baseName = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        List<VolunteerShard> shards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shards.add(new VolunteerShard(i, directory.resolve(baseName + "-" + i + extension), properties.getFormat(), gson));
+        }
+        return shards;
+    }
+
+    /**
+     * Returns the shard a volunteer belongs to.
+     *
+     * @param id         the volunteer ID
+     * @param shardCount the number of shards
+     * @return the shard number, between 0 and {@code shardCount - 1}
+     */
+    public static int shardOf(UUID id, int shardCount) {
+        return Math.floorMod(id.hashCode(), shardCount);
+    }
+
+    /**
+     * Returns the lock that callers hold while copying and writing this shard's snapshot.
+     *
+     * @return the snapshot lock
+     */
+    public ReentrantLock getSnapshotLock() {
+        return snapshotLock;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    /**
+     * Returns the snapshot file in the configured format.
+     *
+     * @return the snapshot file
+     */
+    public Path getSnapshotFile() {
+        return format == SnapshotFormat.BINARY ? binaryFile : jsonFile;
+    }
+
+    /**
+     * Returns true if any file of this shard exists on disk.
+     *
+     * @return true if the shard has a snapshot or a log
+     */
+    public boolean exists() {
+        return Files.exists(jsonFile) || Files.exists(binaryFile) || Files.exists(logFile);
+    }
+
+    /**
+     * Streams the volunteers in the JSON snapshot to the sink. Does nothing if the snapshot is missing or empty.
+     *
+     * @param loader the loader used to read the snapshot
+     * @param sink   receives each volunteer, in file order
+     * @throws IOException if the snapshot cannot be read
+     */
+    public void load(StreamingVolunteerLoader loader, Consumer<Volunteer> sink) throws IOException {
+        if (!Files.exists(jsonFile) || Files.size(jsonFile) == 0) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(jsonFile, StandardCharsets.UTF_8)) {
+            // Records are read one at a time; a record that cannot be decoded is skipped and logged.
+            loader.load(reader, jsonFile.toString(), sink);
+        }
+    }
+
+    /**
+     * Maps the binary snapshot without decoding any records, migrating the JSON snapshot first if only it exists.
+     *
+     * @param loader the loader used to read the JSON snapshot when migrating
+     * @return the mapped snapshot, or null if the shard has no snapshot
+     * @throws IOException if either file cannot be accessed
+     */
+    public BinaryVolunteerSnapshot mapSnapshot(StreamingVolunteerLoader loader) throws IOException {
+        if (!Files.exists(binaryFile) && Files.exists(jsonFile) && Files.size(jsonFile) != 0) {
+            int converted = BinarySnapshotConverter.convert(jsonFile, binaryFile, loader);
+            logger.info("Migrated {} volunteers from {} to {}", converted, jsonFile, binaryFile);
+        }
+        if (Files.exists(binaryFile)) {
+            mappedSnapshot = BinaryVolunteerSnapshot.open(binaryFile);
+        }
+        return mappedSnapshot;
+    }
+
+    /**
+     * Returns the mapped binary snapshot while its records have not been handed to the repository yet.
+     *
+     * @return the mapped snapshot, or null
+     */
+    public BinaryVolunteerSnapshot getMappedSnapshot() {
+        return mappedSnapshot;
+    }
+
+    /**
+     * Forgets the mapped snapshot once the repository has decoded it.
+     */
+    public void releaseMappedSnapshot() {
+        mappedSnapshot = null;
+    }
+
+    /**
+     * Writes the given volunteers to a temporary file and atomically moves it over the snapshot file, so a crash
+     * mid-write never leaves a half-written snapshot behind. In binary mode this also means a snapshot that is still
+     * mapped is never modified underneath the mapping.
+     * <p>
+     * The temporary file is forced to the storage device before the move and the directory after it, so once this
+     * returns true the new snapshot survives a crash and the log segments it covers can safely be discarded.
+     * </p>
+     *
+     * @param volunteers the volunteers of this shard
+     * @return true if the snapshot was written, false if it failed (the failure is logged)
+     */
+    public boolean writeSnapshot(List<Volunteer> volunteers) {
+        Path target = getSnapshotFile();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            if (format == SnapshotFormat.BINARY) {
+                BinaryVolunteerSnapshot.write(temp, volunteers);
+            } else {
+                try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    gson.toJson(volunteers, writer);
+                }
+            }
+            force(temp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            forceDirectory(target.toAbsolutePath().getParent());
+            return true;
+        } catch (IOException e) {
+            logger.error("Failed to save volunteers to file: {}", target, e);
+            return false;
+        }
+    }
+
+    /**
+     * Opens the shard's write-ahead log and replays it.
+     *
+     * @param consumer receives each replayed record, in log order
+     * @return the number of records replayed
+     * @throws IOException if the log cannot be opened
+     */
+    public int openLog(Consumer<WriteAheadLog.Entry> consumer) throws IOException {
+        writeAheadLog = new WriteAheadLog(logFile, gson);
+        return writeAheadLog.replay(consumer);
+    }
+
+    /**
+     * Returns the shard's write-ahead log.
+     *
+     * @return the log, or null when not running in WAL mode
+     */
+    public WriteAheadLog getWriteAheadLog() {
+        return writeAheadLog;
+    }
+
+    /**
+     * Queues a log record for the write-behind flusher and marks the shard dirty.
+     *
+     * @param entry the record to queue, or null in snapshot mode where only the dirty flag matters
+     */
+    public void enqueue(WriteAheadLog.Entry entry) {
+        pendingLock.lock();
+        try {
+            if (entry != null) {
+                pendingEntries.add(entry);
+            }
+            dirty = true;
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    /**
+     * Takes the queued log records and clears the dirty flag.
+     *
+     * @return the queued records, in the order they were queued
+     */
+    public List<WriteAheadLog.Entry> drainPending() {
+        pendingLock.lock();
+        try {
+            List<WriteAheadLog.Entry> batch = new ArrayList<>(pendingEntries);
+            pendingEntries.clear();
+            dirty = false;
+            return batch;
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    /**
+     * Puts back records taken by {@link #drainPending()} that could not be written, ahead of any queued since, and
+     * marks the shard dirty again so the next flush retries them.
+     *
+     * @param batch the records that were not written, in the order they were queued
+     */
+    public void requeue(List<WriteAheadLog.Entry> batch) {
+        pendingLock.lock();
+        try {
+            pendingEntries.addAll(0, batch);
+            dirty = true;
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether the shard changed since the last {@link #drainPending()}.
+     *
+     * @return true if the shard is dirty
+     */
+    public boolean isDirty() {
+        pendingLock.lock();
+        try {
+            return dirty;
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    // Forces a written file's contents to the storage device.
+    private static void force(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    // Forces a directory's entries to the storage device, so a file moved into it is not lost in a crash. Windows
+    // cannot open a directory as a channel; there the file system commits the rename itself.
+    private static void forceDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException e) {
+            logger.debug("Cannot force directory {}", directory, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writeAheadLog != null) {
+            writeAheadLog.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getSnapshotFile().toString();
+    }
+
+
+    private static Path withExtension(Path file, String extension) {
+        String name = file.getFileName().toString();
+        String baseName = name.contains(".") ? name.substring(0, name.lastIndexOf('.')) : name;
+        return file.resolveSibling(baseName + extension);
+    }
+
+}
@@ -0,0 +1,323 @@
+package com.cbfacademy.apiassessment.storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.cbfacademy.apiassessment.volunteer.Volunteer;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Append-only log of volunteer mutations, stored as one JSON record per line.
+ * <p>
+ * New records are always appended to the active segment. When the repository compacts, the active segment is
+ * rotated to a numbered segment ({@code volunteers.wal.1}, {@code volunteers.wal.2}, ...) and a fresh active
+ * segment is started, so writers are never blocked by the snapshot being written. Once the snapshot is safely on
+ * disk the rotated segments it covers are discarded. Replaying is idempotent, so a crash between writing the
+ * snapshot and discarding the segments only costs a little extra work on the next startup.
+ * </p>
+ * <p>
+ * Every append forces the active segment to the storage device before returning, so a record is durable once
+ * {@link #append(Entry)} or {@link #appendAll(List)} returns. Callers batch records with {@link #appendAll(List)}
+ * to share one force between them.
+ * </p>
+ */
+public class WriteAheadLog implements Closeable {
+
+    /**
+     * The kind of mutation a log record describes.
+     */
+    public enum Operation {
+        PUT,
+        DELETE
+    }
+
+    /**
+     * A single log record. {@code PUT} records carry the full volunteer, {@code DELETE} records only the ID.
+     */
+    public static class Entry {
+        private final Operation op;
+        private final UUID id;
+        private final Volunteer volunteer;
+
+        private Entry(Operation op, UUID id, Volunteer volunteer) {
+            this.op = op;
+            this.id = id;
+            this.volunteer = volunteer;
+        }
+
+        /**
+         * Creates a record that inserts or replaces the given volunteer.
+         *
+         * @param volunteer the volunteer that was saved
+         * @return the log record
+         */
+        public static Entry put(Volunteer volunteer) {
+            return new Entry(Operation.PUT, volunteer.getId(), volunteer);
+        }
+
+        /**
+         * Creates a record that removes the volunteer with the given ID.
+         *
+         * @param id the ID of the volunteer that was deleted
+         * @return the log record
+         */
+        public static Entry delete(UUID id) {
+            return new Entry(Operation.DELETE, id, null);
+        }
+
+        public Operation getOp() {
+            return op;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public Volunteer getVolunteer() {
+            return volunteer;
+        }
+    }
+
+    // Logger instance for logging errors and information.
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    // Path of the active segment that new records are appended to.
+    private final Path path;
+
+    // Gson instance used to encode and decode log records.
+    private final Gson gson;
+
+    // Channel of the active segment, forced after every append.
+    private FileChannel channel;
+
+    // Writer for the active segment, writing through the channel.
+    private BufferedWriter writer;
+
+    // Number of records appended to the active segment since it was opened.
+    private int size;
+
+    // Number of the most recently rotated segment.
+    private int lastSegment;
+
+    // Guards the active segment. A ReentrantLock rather than synchronized methods, so virtual threads blocked on
+    // the disk write release their carrier thread instead of pinning it.
+    private final ReentrantLock lock = new ReentrantLock();
+
+
+    /**
+     * Opens the log at the given path, creating the active segment if it does not exist yet.
+     *
+     * @param path the path of the active segment
+     * @param gson the Gson instance used to encode and decode records
+     * @throws IOException if the active segment cannot be opened
+     */
+    public WriteAheadLog(Path path, Gson gson) throws IOException {
+        this.path = path;
+        this.gson = gson;
+        List<Integer> segments = rotatedSegments();
+        this.lastSegment = segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+        openWriter();
+    }
+
+    /**
+     * Appends a record to the active segment and forces it to the storage device.
+     *
+     * @param entry the record to append
+     * @throws IOException if the record cannot be written
+     */
+    public void append(Entry entry) throws IOException {
+        lock.lock();
+        try {
+            writer.write(gson.toJson(entry));
+            writer.newLine();
+            writer.flush();
+            channel.force(false);
+            size++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends a batch of records to the active segment with a single flush and force, so they share one disk write.
+     *
+     * @param entries the records to append, in order
+     * @throws IOException if the records cannot be written
+     */
+    public void appendAll(List<Entry> entries) throws IOException {
+        lock.lock();
+        try {
+            for (Entry entry : entries) {
+                writer.write(gson.toJson(entry));
+                writer.newLine();
+            }
+            writer.flush();
+            channel.force(false);
+            size += entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of records appended since the active segment was opened or last rotated.
+     *
+     * @return the number of records in the active segment
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replays every record on disk, oldest first: rotated segments in order, then the active segment.
+     * A truncated record at the end of a segment (for example after a crash mid-write) is skipped with a warning.
+     *
+     * @param consumer receives each record in the order it was written
+     * @return the number of records replayed
+     * @throws IOException if a segment cannot be read
+     */
+    public int replay(Consumer<Entry> consumer) throws IOException {
+        lock.lock();
+        try {
+            int replayed = 0;
+            for (int segment : rotatedSegments()) {
+                replayed += replaySegment(segmentPath(segment), consumer);
+            }
+            replayed += replaySegment(path, consumer);
+            return replayed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the active segment, renames it to the next numbered segment and starts a new, empty active segment.
+     *
+     * @return the number of the segment that was rotated out
+     * @throws IOException if the segment cannot be renamed or the new one cannot be opened
+     */
+    public int rotate() throws IOException {
+        lock.lock();
+        try {
+            writer.close();
+            lastSegment++;
+            Files.move(path, segmentPath(lastSegment), StandardCopyOption.ATOMIC_MOVE);
+            openWriter();
+            size = 0;
+            return lastSegment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes rotated segments up to and including the given number, once they are covered by a snapshot.
+     *
+     * @param segment the highest segment number to delete
+     * @throws IOException if a segment cannot be deleted
+     */
+    public void discardUpTo(int segment) throws IOException {
+        lock.lock();
+        try {
+            for (int rotated : rotatedSegments()) {
+                if (rotated <= segment) {
+                    Files.deleteIfExists(segmentPath(rotated));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Closes the active segment.
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            writer.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    // Replays a single segment, stopping at the first record that cannot be decoded.
+    private int replaySegment(Path segment, Consumer<Entry> consumer) throws IOException {
+        if (!Files.exists(segment)) {
+            return 0;
+        }
+        int replayed = 0;
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                Entry entry;
+                try {
+                    entry = gson.fromJson(line, Entry.class);
+                } catch (JsonParseException e) {
+                    logger.warn("Ignoring unreadable log record at {}:{}", segment, lineNumber, e);
+                    break;
+                }
+                consumer.accept(entry);
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    // Lists the numbers of the rotated segments currently on disk, in ascending order.
+    private List<Integer> rotatedSegments() throws IOException {
+        List<Integer> segments = new ArrayList<>();
+        Path directory = path.toAbsolutePath().getParent();
+        String prefix = path.getFileName().toString() + ".";
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*")) {
+            for (Path candidate : stream) {
+                String suffix = candidate.getFileName().toString().substring(prefix.length());
+                if (suffix.chars().allMatch(Character::isDigit) && !suffix.isEmpty()) {
+                    segments.add(Integer.parseInt(suffix));
+                }
+            }
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private Path segmentPath(int segment) {
+        return path.resolveSibling(path.getFileName() + "." + segment);
+    }
+
+    // Opens the active segment for appending. Closing the writer closes the channel too.
+    private void openWriter() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,247 @@
+package com.cbfacademy.apiassessment.storage;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Background thread that coalesces dirty state and flushes it with a single write.
+ * <p>
+ * Callers report each mutation with {@link #markDirty()}, which returns a ticket. The flusher runs the supplied
+ * flush action, which must persist everything that is dirty at the time it runs, and then marks every ticket
+ * issued before the flush started as flushed. In {@link Durability#GROUP_COMMIT} mode the flusher starts a new
+ * flush as soon as there is dirty state and callers block in {@link #awaitFlushed(long)}, so mutations that arrive
+ * while a flush is in progress are committed together by the next one. In {@link Durability#ASYNC} mode callers
+ * never block and the flusher waits for the flush interval or the dirty threshold, whichever comes first.
+ * </p>
+ * <p>
+ * A flush action that throws has persisted nothing it can vouch for: it must leave its state dirty, and the tickets
+ * it covered are not marked flushed. Callers waiting for them get an exception, and the flusher retries after
+ * {@link #RETRY_DELAY_MILLIS}.
+ * </p>
+ */
+public class WriteBehindFlusher implements Closeable {
+
+    // Logger instance for logging errors and information.
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindFlusher.class);
+
+    // Time to wait before retrying a failed flush, so a persistent failure does not spin.
+    static final long RETRY_DELAY_MILLIS = 1000;
+
+    // Persists all currently dirty state.
+    private final Runnable flushAction;
+
+    // Whether callers wait for their mutations to be flushed.
+    private final Durability durability;
+
+    // Maximum time dirty state may stay unflushed in ASYNC mode.
+    private final long intervalMillis;
+
+    // Number of unflushed mutations that triggers an early flush in ASYNC mode.
+    private final int threshold;
+
+    // Thread running the flush loop.
+    private final Thread thread;
+
+    // Ticket of the most recent mutation.
+    private long dirtyTicket;
+
+    // Ticket of the most recent mutation known to be on disk.
+    private long flushedTicket;
+
+    // Ticket of the most recent mutation covered by a flush that failed, and why it failed.
+    private long failedTicket;
+    private RuntimeException failure;
+
+    // Set once close() has been called; the flush loop exits after a final flush.
+    private boolean closed;
+
+    // Guards the tickets and the closed flag. A lock and condition rather than a monitor, so request handlers on
+    // virtual threads waiting in awaitFlushed unmount from their carrier thread instead of pinning it.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Signalled when there is new dirty state, a flush completes or the flusher is closed.
+    private final Condition changed = lock.newCondition();
+
+
+    /**
+     * Creates and starts a flusher.
+     *
+     * @param name        the name of the background thread
+     * @param flushAction persists everything that is dirty when it is called
+     * @param durability  {@link Durability#GROUP_COMMIT} or {@link Durability#ASYNC}
+     * @param interval    maximum time dirty state may stay unflushed in ASYNC mode
+     * @param threshold   number of unflushed mutations that triggers an early flush in ASYNC mode
+     */
+    public WriteBehindFlusher(String name, Runnable flushAction, Durability durability, Duration interval, int threshold) {
+        if (durability == Durability.SYNC) {
+            throw new IllegalArgumentException("SYNC durability does not use a write-behind flusher.");
+        }
+        this.flushAction = flushAction;
+        this.durability = durability;
+        this.intervalMillis = interval.toMillis();
+        this.threshold = threshold;
+        this.thread = new Thread(this::run, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Records that a mutation has been made in memory and needs flushing.
+     * Must not be called while holding a lock that the flush action needs.
+     *
+     * @return a ticket that can be passed to {@link #awaitFlushed(long)}
+     */
+    public long markDirty() {
+        lock.lock();
+        try {
+            long ticket = ++dirtyTicket;
+            if (durability == Durability.GROUP_COMMIT || dirtyTicket - flushedTicket >= threshold) {
+                changed.signalAll();
+            }
+            return ticket;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * In GROUP_COMMIT mode, blocks until the mutation with the given ticket has been flushed.
+     * In ASYNC mode, returns immediately.
+     *
+     * @param ticket the ticket returned by {@link #markDirty()}
+     * @throws IllegalStateException in GROUP_COMMIT mode, if the flush covering the ticket failed; the mutation
+     *                               stays dirty and is retried, but is not on disk yet
+     */
+    public void awaitFlushed(long ticket) {
+        if (durability != Durability.GROUP_COMMIT) {
+            return;
+        }
+        boolean interrupted = false;
+        lock.lock();
+        try {
+            while (flushedTicket < ticket && thread.isAlive()) {
+                if (failedTicket >= ticket) {
+                    throw new IllegalStateException("Write-behind flush failed; the change is not on disk yet", failure);
+                }
+                try {
+                    changed.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Flushes any remaining dirty state and stops the background thread.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    // Flush loop: waits until there is something worth flushing, flushes it and wakes up waiting callers.
+    private void run() {
+        while (true) {
+            long target;
+            lock.lock();
+            try {
+                long dirtySince = System.currentTimeMillis();
+                while (!closed && !shouldFlush(dirtySince)) {
+                    try {
+                        if (dirtyTicket == flushedTicket) {
+                            changed.await();
+                            dirtySince = System.currentTimeMillis();
+                        } else {
+                            changed.await(Math.max(1, dirtySince + intervalMillis - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                        }
+                    } catch (InterruptedException e) {
+                        closed = true;
+                    }
+                }
+                if (closed && dirtyTicket == flushedTicket) {
+                    changed.signalAll();
+                    return;
+                }
+                target = dirtyTicket;
+            } finally {
+                lock.unlock();
+            }
+            RuntimeException error = null;
+            try {
+                flushAction.run();
+            } catch (RuntimeException e) {
+                logger.error("Write-behind flush failed", e);
+                error = e;
+            }
+            lock.lock();
+            try {
+                if (error == null) {
+                    flushedTicket = target;
+                } else {
+                    // Only a successful flush moves flushedTicket; waiters up to target are told it failed.
+                    failedTicket = target;
+                    failure = error;
+                }
+                changed.signalAll();
+                if (error != null) {
+                    if (closed) {
+                        logger.error("Stopping with {} unflushed mutations", dirtyTicket - flushedTicket);
+                        return;
+                    }
+                    awaitRetry();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Waits before retrying a failed flush, unless the flusher is closed meanwhile. Called while holding the lock.
+    private void awaitRetry() {
+        long retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+        long remaining;
+        while (!closed && (remaining = retryAt - System.currentTimeMillis()) > 0) {
+            try {
+                changed.await(remaining, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                closed = true;
+            }
+        }
+    }
+
+    // Decides whether the dirty state should be flushed now. Called while holding the lock.
+    private boolean shouldFlush(long dirtySince) {
+        long pending = dirtyTicket - flushedTicket;
+        if (pending == 0) {
+            return false;
+        }
+        return durability == Durability.GROUP_COMMIT
+                || pending >= threshold
+                || System.currentTimeMillis() - dirtySince >= intervalMillis;
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import java.util.UUID;
+
+/**
+ * One create, update or delete in a batch request.
+ * Creates carry the new volunteer, updates carry the ID and the fields to change, and deletes carry only the ID.
+ */
+public class BatchOperation {
+
+    /**
+     * The kind of change an operation makes.
+     */
+    public enum Type {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    // The kind of change to make.
+    private Type op;
+
+    // The ID of the volunteer to update or delete; ignored for creates, which use the volunteer's own ID.
+    private UUID id;
+
+    // The volunteer to create, or the updated information for an update.
+    private Volunteer volunteer;
+
+
+    /**
+     * Constructs an empty operation, populated from the request body.
+     */
+    public BatchOperation() {
+    }
+
+    /**
+     * Constructs an operation.
+     *
+     * @param op        the kind of change to make
+     * @param id        the ID of the volunteer to update or delete
+     * @param volunteer the volunteer to create, or the updated information for an update
+     */
+    public BatchOperation(Type op, UUID id, Volunteer volunteer) {
+        this.op = op;
+        this.id = id;
+        this.volunteer = volunteer;
+    }
+
+    /**
+     * Returns the kind of change this operation makes.
+     *
+     * @return the operation type
+     */
+    public Type getOp() {
+        return op;
+    }
+
+    /**
+     * Sets the kind of change this operation makes.
+     *
+     * @param op the operation type
+     */
+    public void setOp(Type op) {
+        this.op = op;
+    }
+
+    /**
+     * Returns the ID of the volunteer to update or delete.
+     *
+     * @return the volunteer's UUID
+     */
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the volunteer to update or delete.
+     *
+     * @param id the volunteer's UUID
+     */
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the volunteer to create, or the updated information for an update.
+     *
+     * @return the volunteer
+     */
+    public Volunteer getVolunteer() {
+        return volunteer;
+    }
+
+    /**
+     * Sets the volunteer to create, or the updated information for an update.
+     *
+     * @param volunteer the volunteer
+     */
+    public void setVolunteer(Volunteer volunteer) {
+        this.volunteer = volunteer;
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * The outcome of one operation in a batch request, reported with the status the equivalent single request would have
+ * returned.
+ */
+public class BatchResult {
+
+    // Position of the operation in the batch.
+    private final int index;
+
+    // The kind of change the operation made, or null if the request did not say.
+    private final BatchOperation.Type op;
+
+    // The ID of the volunteer the operation applied to, if known.
+    private final UUID id;
+
+    // CREATED, OK or NO_CONTENT on success; BAD_REQUEST or NOT_FOUND if the operation was rejected.
+    private final HttpStatus status;
+
+    // Why the operation was rejected, or null on success.
+    private final String message;
+
+    // The created or updated volunteer, or null for deletes and rejected operations.
+    private final Volunteer volunteer;
+
+
+    /**
+     * Constructs a result.
+     *
+     * @param index     the position of the operation in the batch
+     * @param op        the kind of change the operation made
+     * @param id        the ID of the volunteer the operation applied to
+     * @param status    the outcome of the operation
+     * @param message   why the operation was rejected, or null on success
+     * @param volunteer the created or updated volunteer, or null
+     */
+    public BatchResult(int index, BatchOperation.Type op, UUID id, HttpStatus status, String message, Volunteer volunteer) {
+        this.index = index;
+        this.op = op;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+        this.volunteer = volunteer;
+    }
+
+    /**
+     * Returns the position of the operation in the batch.
+     *
+     * @return the zero-based index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the kind of change the operation made.
+     *
+     * @return the operation type
+     */
+    public BatchOperation.Type getOp() {
+        return op;
+    }
+
+    /**
+     * Returns the ID of the volunteer the operation applied to.
+     *
+     * @return the volunteer's UUID, or null if it is not known
+     */
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Returns the outcome of the operation.
+     *
+     * @return the HTTP status the equivalent single request would have returned
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns why the operation was rejected.
+     *
+     * @return the error message, or null on success
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the created or updated volunteer.
+     *
+     * @return the volunteer, or null for deletes and rejected operations
+     */
+    public Volunteer getVolunteer() {
+        return volunteer;
+    }
+
+}
@@ -1,24 +1,62 @@
 package com.cbfacademy.apiassessment.volunteer;
 
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.lang.reflect.Type;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.OptionalLong;
+import java.util.TreeSet;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
 
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.stereotype.Repository;
+
+import com.cbfacademy.apiassessment.exception.InvalidPageRequestException;
+import com.cbfacademy.apiassessment.index.BitmapIndex;
+import com.cbfacademy.apiassessment.index.Dictionary;
+import com.cbfacademy.apiassessment.index.InvertedIndex;
+import com.cbfacademy.apiassessment.index.PrefixIndex;
+import com.cbfacademy.apiassessment.search.AdvancedSearchQuery;
+import com.cbfacademy.apiassessment.search.QueryPlan;
+import com.cbfacademy.apiassessment.search.SearchKey;
+import com.cbfacademy.apiassessment.search.SearchResultCache;
+import com.cbfacademy.apiassessment.storage.BinaryVolunteerSnapshot;
+import com.cbfacademy.apiassessment.storage.Durability;
+import com.cbfacademy.apiassessment.storage.PersistenceMode;
+import com.cbfacademy.apiassessment.storage.SnapshotFormat;
+import com.cbfacademy.apiassessment.storage.StorageProperties;
+import com.cbfacademy.apiassessment.storage.StreamingVolunteerLoader;
+import com.cbfacademy.apiassessment.storage.VolunteerShard;
+import com.cbfacademy.apiassessment.storage.WriteAheadLog;
+import com.cbfacademy.apiassessment.storage.WriteBehindFlusher;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 
 
@@ -27,69 +65,702 @@ import jakarta.annotation.PostConstruct;
 public class JsonVolunteerRepository implements VolunteerRepository {
     
     // Field declarations
-    
-    // List to hold Volunteer objects loaded from the JSON file.
-    private List<Volunteer> volunteers = new ArrayList<>();
+
+    // Guards the rows and indexes below. Writers hold it only while updating memory, never while writing to disk;
+    // point lookups use optimistic reads and only fall back to the read lock when a write raced with them.
+    private final StampedLock lock = new StampedLock();
+
+    // Per-volunteer locks, striped by ID, that order mutations of the same volunteer in memory and on disk
+    // without serializing writes to different volunteers.
+    private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+
+    // Volunteers by row number, in insertion order. Deleting a volunteer leaves a null row so the row numbers
+    // of the others stay stable; the gaps disappear the next time the snapshot is loaded.
+    private final List<Volunteer> rows = new ArrayList<>();
+
+    // Primary-key index from volunteer ID to row number, so lookups and upserts take constant time.
+    private final Map<UUID, Integer> rowsById = new HashMap<>();
+
+    // Rows holding a volunteer, i.e. every row except the gaps left by deletes. Used to page through all volunteers.
+    private final RoaringBitmap liveRows = new RoaringBitmap();
+
+    // Version of the data, increased by every mutation. It starts from the start-up time shifted left by 20 bits, so
+    // it keeps increasing across restarts unless more than a million mutations were made per millisecond of uptime.
+    // Only written under the write lock; volatile so it can be read without any lock.
+    private volatile long version = System.currentTimeMillis() << 20;
+
+    // Version at which each row was last changed, indexed by row number.
+    private long[] rowVersions = new long[16];
+
+    // Told the ID of every removed volunteer, such as the response cache evicting its copy.
+    private final List<Consumer<UUID>> removalListeners = new CopyOnWriteArrayList<>();
+
+    // Number of volunteers copied out per read-lock acquisition when streaming the whole roster.
+    private static final int STREAM_CHUNK_SIZE = 1024;
+
+    // Identifies this instance's row numbering in page cursors; rows are renumbered when the snapshot is reloaded.
+    private final long epoch = ThreadLocalRandom.current().nextLong();
+
+    // Dictionaries of the roles and skills of the stored volunteers. Values are only added when a volunteer holding
+    // them is stored, so values that only ever appear in rejected requests or queries never take up space.
+    private final Dictionary roleDictionary = new Dictionary();
+    private final Dictionary skillDictionary = new Dictionary();
+
+    // Inverted index from skill code to the rows of the volunteers that have it.
+    private final InvertedIndex<Integer> skillIndex = new InvertedIndex<>();
+
+    // Bitmap indexes from role code and active status to rows, intersected to answer advanced searches.
+    private final BitmapIndex<Integer> roleIndex = new BitmapIndex<>();
+    private final BitmapIndex<Boolean> activeIndex = new BitmapIndex<>();
+
+    // Prefix index over each volunteer's names, email and contact number, for type-ahead lookups.
+    private final PrefixIndex textIndex = new PrefixIndex();
+
+    // Chooses the order in which the active, role and skill indexes answer an advanced search.
+    private final SearchPlanner planner = new SearchPlanner(skillIndex, roleIndex, activeIndex,
+            roleDictionary, skillDictionary);
+
+    // Struct-of-arrays copy of the active status, role and skills by row, scanned instead of the indexes to answer
+    // advanced searches and active-status lookups; null unless enabled in the storage properties.
+    private final VolunteerColumns columns;
+
+    // Splits scans of many rows across a dedicated fork/join pool.
+    private final ParallelScan parallelScan;
+
+    // Bitmap index from shard number to rows, used to write a single shard's snapshot.
+    private final BitmapIndex<Integer> shardIndex = new BitmapIndex<>();
+
+    // Results of recent advanced searches. Filled under the read lock and invalidated under the write lock.
+    private final SearchResultCache<Volunteer> searchCache;
+
+    // True while some shards are memory-mapped binary snapshots whose records have not all been decoded yet.
+    private volatile boolean mapped;
     
     // Gson instance for serializing and deserializing JSON data.
     private final Gson gson = new Gson();
 
-    // Path to the JSON file where volunteer data is stored.
-    private final String filePath = "src/main/resources/volunteers.json";
+    // On-disk shards the volunteers are split across by ID hash; a single shard is the configured snapshot file.
+    private final List<VolunteerShard> shards;
+
+    // Storage settings such as the persistence mode and compaction thresholds.
+    private final StorageProperties properties;
+
+    // Threads loading and flushing shards in parallel, null with a single shard.
+    private ExecutorService shardWorkers;
+
+    // Background thread that compacts the write-ahead logs into fresh snapshots, null in snapshot mode.
+    private ScheduledExecutorService compactor;
+
+    // Background flusher that coalesces dirty state, null with SYNC durability.
+    private WriteBehindFlusher flusher;
 
     // Logger instance for logging errors and information.
     private static final Logger logger = LoggerFactory.getLogger(JsonVolunteerRepository.class);
 
+    // Number of volunteers between progress messages while loading the snapshot.
+    private static final int LOAD_PROGRESS_INTERVAL = 10_000;
+
+    // Number of per-volunteer lock stripes.
+    private static final int LOCK_STRIPES = 64;
+
     
-    // Constructor that initialises the repository by loading volunteers from the JSON file.
-    public JsonVolunteerRepository() {
+    // Constructor that initialises the repository by loading volunteers from the snapshot shards
+    // and, in WAL mode, replaying each shard's write-ahead log on top of them.
+    public JsonVolunteerRepository(StorageProperties properties) {
+        this.properties = properties;
+        this.searchCache = new SearchResultCache<>(properties.getSearchCacheSize());
+        this.columns = properties.isColumnar() ? new VolunteerColumns() : null;
+        this.parallelScan = new ParallelScan(properties.getScanParallelism(), properties.getParallelScanThreshold());
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        try {
+            this.shards = VolunteerShard.forProperties(properties, gson);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create shard directory for " + properties.getFile(), e);
+        }
+        if (shards.size() > 1) {
+            int threads = Math.min(shards.size(), Runtime.getRuntime().availableProcessors());
+            shardWorkers = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "volunteer-shard-io");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
         loadVolunteers();
+        if (properties.getMode() == PersistenceMode.WAL) {
+            openWriteAheadLogs();
+        }
+        if (properties.getDurability() != Durability.SYNC) {
+            flusher = new WriteBehindFlusher("volunteer-write-behind", this::flush, properties.getDurability(),
+                    properties.getFlushInterval(), properties.getFlushThreshold());
+        }
     }
     
 
-    // Loads volunteers from the JSON file into the 'volunteers' list.
+    // Loads volunteers from the snapshot shards, in parallel when there is more than one. Each shard is parsed
+    // on its own thread; the parsed volunteers are then added to the indexes in shard order.
     private void loadVolunteers() {
-        File file = new File(filePath);
-        // Check if the file exists and is not empty
-        if (file.exists() && file.length() != 0) {
-            try (FileReader reader = new FileReader(filePath)) {
-                Type listOfVolunteersType = new TypeToken<ArrayList<Volunteer>>() {}.getType();
-                volunteers = gson.fromJson(reader, listOfVolunteersType);
-                // Handle the case where the JSON file is empty or contains invalid data.
-                if (volunteers == null) volunteers = new ArrayList<>();      
+        if (importUnshardedSnapshot()) {
+            return;
+        }
+        if (properties.getFormat() == SnapshotFormat.BINARY) {
+            forEachShard(shard -> {
+                if (shard.mapSnapshot(newLoader()) != null) {
+                    mapped = true;
+                }
+            });
+            return;
+        }
+        if (shards.size() == 1) {
+            // Records are read one at a time straight into the indexes; a record that cannot be decoded
+            // is skipped and logged.
+            loadShard(shards.get(0), this::put);
+            return;
+        }
+        List<List<Volunteer>> loaded = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            loaded.add(new ArrayList<>());
+        }
+        forEachShard(shard -> loadShard(shard, loaded.get(shard.getNumber())::add));
+        loaded.forEach(volunteers -> volunteers.forEach(this::put));
+    }
+
+    // Streams one shard's JSON snapshot to the sink, logging rather than failing if it cannot be read.
+    private void loadShard(VolunteerShard shard, Consumer<Volunteer> sink) {
+        try {
+            shard.load(newLoader(), sink);
+        } catch (IOException e) {
+            logger.error("Failed to load volunteers from file: {}", shard, e);
+        }
+    }
+
+    // When sharding is first enabled, none of the shard files exist yet; the unsharded snapshot file is loaded
+    // instead and split into shards straight away. Returns true if that happened.
+    private boolean importUnshardedSnapshot() {
+        Path file = Path.of(properties.getFile());
+        if (shards.size() == 1 || shards.stream().anyMatch(VolunteerShard::exists) || !Files.exists(file)) {
+            return false;
+        }
+        VolunteerShard unsharded = new VolunteerShard(0, file, SnapshotFormat.JSON, gson);
+        loadShard(unsharded, this::put);
+        saveAllShards();
+        logger.info("Split {} volunteers from {} into {} shards", rowsById.size(), file, shards.size());
+        return true;
+    }
+
+    // Creates a streaming loader configured from the storage properties.
+    private StreamingVolunteerLoader newLoader() {
+        return new StreamingVolunteerLoader(gson, properties.getLoadParallelism(), properties.getLoadChunkSize(),
+                LOAD_PROGRESS_INTERVAL);
+    }
+
+    // An action on one shard that may fail with an I/O error.
+    private interface ShardTask {
+        void run(VolunteerShard shard) throws IOException;
+    }
+
+    // Runs the task for every shard, in parallel when there is more than one, and waits for all of them.
+    // I/O errors are logged per shard so one failing shard does not stop the others. Returns false if the task
+    // failed for any shard.
+    private boolean forEachShard(ShardTask task) {
+        AtomicBoolean succeeded = new AtomicBoolean(true);
+        List<Future<?>> running = new ArrayList<>();
+        for (VolunteerShard shard : shards) {
+            Runnable action = () -> {
+                try {
+                    task.run(shard);
+                } catch (IOException | UncheckedIOException e) {
+                    logger.error("Failed to access volunteer shard {}", shard, e);
+                    succeeded.set(false);
+                }
+            };
+            if (shardWorkers == null) {
+                action.run();
+            } else {
+                running.add(shardWorkers.submit(action));
+            }
+        }
+        for (Future<?> future : running) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                logger.error("Volunteer shard task failed", e.getCause());
+                succeeded.set(false);
+            }
+        }
+        return succeeded.get();
+    }
+
+    // Decodes the rest of the mapped binary snapshots on first use. Must not be called while holding the lock.
+    // Point lookups are served from the mappings directly (see findById) and do not trigger this.
+    private void ensureLoaded() {
+        if (!mapped) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            if (!mapped) {
+                return;
+            }
+            for (VolunteerShard shard : shards) {
+                BinaryVolunteerSnapshot snapshot = shard.getMappedSnapshot();
+                if (snapshot != null) {
+                    for (int i = 0; i < snapshot.size(); i++) {
+                        put(snapshot.get(i));
+                    }
+                }
+            }
+            shards.forEach(VolunteerShard::releaseMappedSnapshot);
+            mapped = false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Returns the lock stripe for a volunteer ID.
+    private ReentrantLock stripeFor(UUID id) {
+        return stripes[stripeNumber(id)];
+    }
+
+    // Returns the index of the stripe guarding a volunteer ID.
+    private int stripeNumber(UUID id) {
+        return (id.hashCode() & Integer.MAX_VALUE) % stripes.length;
+    }
+
+    // Returns the shard holding a volunteer ID.
+    private VolunteerShard shardFor(UUID id) {
+        return shards.get(VolunteerShard.shardOf(id, shards.size()));
+    }
+
+    // Adds a volunteer as a new row, or replaces the row of the volunteer with the same ID,
+    // and brings the secondary indexes up to date.
+    private void put(Volunteer volunteer) {
+        Integer row = rowsById.get(volunteer.getId());
+        if (row != null) {
+            invalidateSearches(row);
+            rows.set(row, volunteer);
+        } else {
+            row = rows.size();
+            rowsById.put(volunteer.getId(), row);
+            rows.add(volunteer);
+            liveRows.add(row);
+            shardIndex.index(row, VolunteerShard.shardOf(volunteer.getId(), shards.size()));
+        }
+        int roleCode = internRole(volunteer);
+        int[] skillCodes = internSkills(volunteer);
+        skillIndex.index(row, codes(skillCodes));
+        roleIndex.index(row, roleCode != Dictionary.NONE ? roleCode : null);
+        activeIndex.index(row, volunteer.isActive());
+        textIndex.index(row, textTokens(volunteer));
+        if (columns != null) {
+            columns.set(row, volunteer.isActive(), roleCode, skillCodes);
+        }
+        invalidateSearches(row);
+        stampRow(row);
+    }
+
+    // Encodes a stored volunteer's role and replaces it with the dictionary's canonical instance. The caller must
+    // hold the write lock.
+    private int internRole(Volunteer volunteer) {
+        int code = roleDictionary.encode(volunteer.getRole());
+        volunteer.setRole(roleDictionary.decode(code));
+        return code;
+    }
+
+    // Encodes a stored volunteer's skills and replaces them with the dictionary's canonical instances. Returns null
+    // if the volunteer has no skill list. The caller must hold the write lock.
+    private int[] internSkills(Volunteer volunteer) {
+        if (volunteer.getSkills() == null) {
+            return null;
+        }
+        int[] codes = skillDictionary.encodeAll(volunteer.getSkills());
+        volunteer.setSkills(skillDictionary.decodeAll(codes));
+        return codes;
+    }
+
+    // Returns the dictionary codes of a volunteer's skills as index keys, leaving out null skills.
+    private static List<Integer> codes(int[] skillCodes) {
+        if (skillCodes == null) {
+            return null;
+        }
+        List<Integer> codes = new ArrayList<>(skillCodes.length);
+        for (int code : skillCodes) {
+            if (code != Dictionary.NONE) {
+                codes.add(code);
+            }
+        }
+        return codes;
+    }
+
+    // Returns the tokens a volunteer can be looked up by: the words of their names, email and contact number, plus
+    // the contact number's digits run together so a number can be typed without its spacing.
+    private static Set<String> textTokens(Volunteer volunteer) {
+        Set<String> tokens = PrefixIndex.tokenize(volunteer.getFirstName());
+        tokens.addAll(PrefixIndex.tokenize(volunteer.getLastName()));
+        tokens.addAll(PrefixIndex.tokenize(volunteer.getEmail()));
+        String contactNumber = volunteer.getContactNumber();
+        if (contactNumber != null) {
+            tokens.addAll(PrefixIndex.tokenize(contactNumber));
+            String digits = contactNumber.replaceAll("\\D", "");
+            if (!digits.isEmpty()) {
+                tokens.add(digits);
+            }
+        }
+        return tokens;
+    }
+
+    // Drops the cached search results the volunteer in a row matches, as currently indexed. Called before and after
+    // a row changes, so queries the volunteer leaves or joins are both refreshed. The caller must hold the write lock.
+    private void invalidateSearches(int row) {
+        Boolean active = activeIndex.valueFor(row);
+        if (active != null) {
+            searchCache.invalidate(active, roleIndex.valueFor(row), skillIndex.keysFor(row));
+        }
+    }
+
+    // Records the current version as the version of a row. The caller must hold the write lock.
+    private void stampRow(int row) {
+        if (row >= rowVersions.length) {
+            rowVersions = Arrays.copyOf(rowVersions, Math.max(row + 1, rowVersions.length * 2));
+        }
+        rowVersions[row] = version;
+    }
+
+    // Removes the volunteer with the given ID, leaving a gap in its row, and tells the removal listeners.
+    private void remove(UUID id) {
+        Integer row = rowsById.remove(id);
+        if (row != null) {
+            removalListeners.forEach(listener -> listener.accept(id));
+            invalidateSearches(row);
+            rows.set(row, null);
+            liveRows.remove(row);
+            skillIndex.removeRow(row);
+            roleIndex.removeRow(row);
+            activeIndex.removeRow(row);
+            textIndex.removeRow(row);
+            shardIndex.removeRow(row);
+            if (columns != null) {
+                columns.clear(row);
+            }
+        }
+    }
+
+    // Returns the volunteers in the given rows, in row order. Many rows are copied out in parallel, each range of
+    // the matches into its own slice of the result. The caller must hold the lock.
+    private List<Volunteer> volunteersAt(RoaringBitmap matches) {
+        int count = matches.getCardinality();
+        if (!parallelScan.splits(count)) {
+            List<Volunteer> volunteers = new ArrayList<>(count);
+            matches.forEach((int row) -> volunteers.add(rows.get(row)));
+            return volunteers;
+        }
+        int[] matchingRows = matches.toArray();
+        Volunteer[] volunteers = new Volunteer[count];
+        parallelScan.forEachRange(count, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                volunteers[i] = rows.get(matchingRows[i]);
+            }
+        });
+        return new ArrayList<>(Arrays.asList(volunteers));
+    }
+
+    // Returns a copy of the current volunteers of one shard in insertion order. The caller must hold the lock.
+    private List<Volunteer> liveVolunteers(VolunteerShard shard) {
+        if (shards.size() > 1) {
+            return volunteersAt(shardIndex.rowsWith(shard.getNumber()));
+        }
+        List<Volunteer> volunteers = new ArrayList<>(rowsById.size());
+        for (Volunteer volunteer : rows) {
+            if (volunteer != null) {
+                volunteers.add(volunteer);
+            }
+        }
+        return volunteers;
+    }
+
+    // Returns a copy of the current volunteers in insertion order, taken under the read lock.
+    private List<Volunteer> volunteers() {
+        ensureLoaded();
+        long stamp = lock.readLock();
+        try {
+            List<Volunteer> volunteers = new ArrayList<>(rowsById.size());
+            for (Volunteer volunteer : rows) {
+                if (volunteer != null) {
+                    volunteers.add(volunteer);
+                }
+            }
+            return volunteers;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Returns true if there are no volunteers, without decoding a mapped snapshot.
+    private boolean isEmpty() {
+        if (mapped) {
+            return shards.stream().map(VolunteerShard::getMappedSnapshot)
+                    .allMatch(snapshot -> snapshot == null || snapshot.size() == 0);
+        }
+        long stamp = lock.readLock();
+        try {
+            return rowsById.isEmpty();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Saves the current state of one shard back to its snapshot file. The copy is taken while holding the shard's
+    // snapshot lock, so concurrent saves never overwrite a newer snapshot with an older one, while saves of
+    // different shards write in parallel. Returns false if the snapshot could not be written (the failure is logged).
+    private boolean saveShard(VolunteerShard shard) {
+        ensureLoaded();
+        shard.getSnapshotLock().lock();
+        try {
+            List<Volunteer> snapshot;
+            long stamp = lock.readLock();
+            try {
+                snapshot = liveVolunteers(shard);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+            return shard.writeSnapshot(snapshot);
+        } finally {
+            shard.getSnapshotLock().unlock();
+        }
+    }
+
+    // Saves every shard's snapshot.
+    private void saveAllShards() {
+        forEachShard(this::saveShard);
+    }
+
+    // Opens each shard's write-ahead log, replays it on top of the loaded snapshot and schedules background compaction.
+    private void openWriteAheadLogs() {
+        for (VolunteerShard shard : shards) {
+            try {
+                int replayed = shard.openLog(this::applyLogEntry);
+                logger.info("Replayed {} write-ahead log records on top of {}", replayed, shard);
             } catch (IOException e) {
-                logger.error("Failed to load volunteers from file: {}", filePath, e);
-                volunteers = new ArrayList<>();
-            }    
+                throw new UncheckedIOException("Failed to open write-ahead log for " + shard, e);
+            }
+        }
+
+        long interval = properties.getCompactionInterval().toMillis();
+        compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "volunteer-wal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(() -> {
+            for (VolunteerShard shard : shards) {
+                if (shard.getWriteAheadLog().size() >= properties.getCompactionThreshold()) {
+                    compact(shard);
+                }
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    // Applies a replayed log record to the in-memory indexes.
+    private void applyLogEntry(WriteAheadLog.Entry entry) {
+        ensureLoaded();
+        if (entry.getOp() == WriteAheadLog.Operation.PUT) {
+            put(entry.getVolunteer());
         } else {
-            // Initialize an empty list if the file doesn't exist or is empty.
-            volunteers = new ArrayList<>();
-            }  
+            remove(entry.getId());
         }
+    }
 
-        
-    // Saves the current state of 'volunteers' list back to the JSON file.
-    private void saveVolunteers() {
-        try (FileWriter writer = new FileWriter(filePath)){
-            gson.toJson(volunteers, writer);  
+    // Records a mutation in the volunteer's shard. With SYNC durability the record is appended to the shard's
+    // write-ahead log (WAL mode) or the shard's snapshot is rewritten (snapshot mode) straight away, and a failed
+    // write throws so the request fails rather than reporting a change that is only in memory. Otherwise the
+    // change is queued for the write-behind flusher and the returned ticket can be waited on once the volunteer's
+    // stripe is released. Called while holding the volunteer's stripe, so records for one volunteer are logged in
+    // the order applied.
+    private long persist(WriteAheadLog.Entry entry) {
+        VolunteerShard shard = shardFor(entry.getId());
+        WriteAheadLog writeAheadLog = shard.getWriteAheadLog();
+        if (flusher != null) {
+            shard.enqueue(writeAheadLog != null ? entry : null);
+            return flusher.markDirty();
+        }
+        if (writeAheadLog == null) {
+            if (!saveShard(shard)) {
+                throw new UncheckedIOException(new IOException("Failed to save snapshot " + shard));
+            }
+            return 0;
+        }
+        try {
+            writeAheadLog.append(entry);
         } catch (IOException e) {
-            logger.error("Failed to save volunteers to file: {}", filePath, e);
+            throw new UncheckedIOException("Failed to append to write-ahead log for " + shard, e);
         }
+        return 0;
+    }
+
+    // Persists a batch of mutations at once: each affected shard's snapshot is rewritten once, or each affected
+    // shard's log gets one append, or the flusher is woken once. Returns the ticket to wait for, as persist does.
+    // With SYNC durability every shard is still attempted, then a failed write throws so the batch fails.
+    private long persistAll(List<WriteAheadLog.Entry> entries) {
+        Map<VolunteerShard, List<WriteAheadLog.Entry>> byShard = new LinkedHashMap<>();
+        for (WriteAheadLog.Entry entry : entries) {
+            byShard.computeIfAbsent(shardFor(entry.getId()), shard -> new ArrayList<>()).add(entry);
+        }
+        if (flusher != null) {
+            byShard.forEach((shard, batch) -> batch.forEach(entry -> shard.enqueue(shard.getWriteAheadLog() != null ? entry : null)));
+            return flusher.markDirty();
+        }
+        List<VolunteerShard> failed = new ArrayList<>();
+        byShard.forEach((shard, batch) -> {
+            if (shard.getWriteAheadLog() == null) {
+                if (!saveShard(shard)) {
+                    failed.add(shard);
+                }
+                return;
+            }
+            try {
+                shard.getWriteAheadLog().appendAll(batch);
+            } catch (IOException e) {
+                logger.error("Failed to append to write-ahead log for {}", shard, e);
+                failed.add(shard);
+            }
+        });
+        if (!failed.isEmpty()) {
+            throw new UncheckedIOException(new IOException("Failed to persist batch to " + failed));
+        }
+        return 0;
+    }
+
+    // Blocks until the given ticket is on disk when running with GROUP_COMMIT durability.
+    private void awaitDurable(long ticket) {
+        if (flusher != null) {
+            flusher.awaitFlushed(ticket);
+        }
+    }
+
+    // Writes all dirty state in one go, shard by shard in parallel: the queued log records in WAL mode, or one
+    // snapshot of each changed shard in snapshot mode. Only called from the write-behind flusher thread, so
+    // batches are written in order. A shard that fails to write gets its records back and stays dirty, and the
+    // flush throws so the flusher does not acknowledge it.
+    private void flush() {
+        boolean flushed = forEachShard(shard -> {
+            if (!shard.isDirty()) {
+                return;
+            }
+            // Drained before the snapshot copy is taken, so a change made meanwhile marks the shard dirty again.
+            List<WriteAheadLog.Entry> batch = shard.drainPending();
+            try {
+                if (shard.getWriteAheadLog() == null) {
+                    if (!saveShard(shard)) {
+                        throw new IOException("Failed to save snapshot " + shard);
+                    }
+                } else {
+                    shard.getWriteAheadLog().appendAll(batch);
+                }
+            } catch (IOException | RuntimeException e) {
+                shard.requeue(batch);
+                throw e;
+            }
+        });
+        if (!flushed) {
+            throw new UncheckedIOException(new IOException("Failed to flush one or more volunteer shards"));
+        }
+    }
+
+    // Folds every shard's write-ahead log into a fresh snapshot.
+    void compact() {
+        for (VolunteerShard shard : shards) {
+            compact(shard);
+        }
+    }
+
+    // Folds a shard's write-ahead log into a fresh snapshot. The log is rotated while holding the write lock, so
+    // writers only wait for an in-memory copy; the snapshot itself is written outside it. Every record in the
+    // rotated segments was applied in memory before it was logged, so it is part of the copy; records logged
+    // after the rotation go to the new segment and are replayed on top of this snapshot.
+    private void compact(VolunteerShard shard) {
+        ensureLoaded();
+        WriteAheadLog writeAheadLog = shard.getWriteAheadLog();
+        shard.getSnapshotLock().lock();
+        try {
+            List<Volunteer> snapshot;
+            int segment;
+            long stamp = lock.writeLock();
+            try {
+                snapshot = liveVolunteers(shard);
+                segment = writeAheadLog.rotate();
+            } catch (IOException e) {
+                logger.error("Failed to rotate write-ahead log for {}", shard, e);
+                return;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            // The snapshot is forced to disk, with its directory entry, before the segments it covers are deleted.
+            if (!shard.writeSnapshot(snapshot)) {
+                return;
+            }
+            try {
+                writeAheadLog.discardUpTo(segment);
+                logger.info("Compacted write-ahead log into {} ({} volunteers)", shard, snapshot.size());
+            } catch (IOException e) {
+                logger.error("Failed to discard compacted write-ahead log segments for {}", shard, e);
+            }
+        } finally {
+            shard.getSnapshotLock().unlock();
+        }
+    }
+
+    // Flushes any dirty state, stops the background compactor and folds any remaining log records
+    // into the snapshots on shutdown.
+    @PreDestroy
+    void close() {
+        CacheStats searchStats = searchCache.stats();
+        if (searchStats.requestCount() > 0) {
+            logger.info("Search cache: {} hits, {} misses ({}% hit rate), {} evictions",
+                    searchStats.hitCount(), searchStats.missCount(), Math.round(searchStats.hitRate() * 100),
+                    searchStats.evictionCount());
+        }
+        if (flusher != null) {
+            flusher.close();
+        }
+        if (compactor != null) {
+            compactor.shutdownNow();
+            for (VolunteerShard shard : shards) {
+                if (shard.getWriteAheadLog().size() > 0) {
+                    compact(shard);
+                }
+            }
+        }
+        for (VolunteerShard shard : shards) {
+            try {
+                shard.close();
+            } catch (IOException e) {
+                logger.error("Failed to close write-ahead log for {}", shard, e);
+            }
+        }
+        if (shardWorkers != null) {
+            shardWorkers.shutdown();
+        }
+        parallelScan.close();
     }
 
     // Initializes volunteer data with a predefined set if the JSON file is empty.
     @PostConstruct
     private void initVolunteersData() {
-        if (volunteers.isEmpty()) {
+        if (isEmpty()) {
             populateInitialVolunteers();
-            saveVolunteers(); // Save initial data to the JSON file  
+            saveAllShards(); // Save initial data to the JSON file  
         }
     }
 
     // Helper method to populate the list with initial volunteer data.
     private void populateInitialVolunteers() {
     // Hardcoded volunteer data for initial setup.
-        volunteers.add(new Volunteer(
+        ensureLoaded();
+        put(new Volunteer(
                 UUID.randomUUID(),
                 "Elizabeth", 
                 "John", 
@@ -100,7 +771,7 @@ public class JsonVolunteerRepository implements VolunteerRepository {
                 true 
         ));
 
-        volunteers.add(new Volunteer(
+        put(new Volunteer(
                 UUID.randomUUID(),
                 "Matthew", 
                 "Lazarus",
@@ -111,7 +782,7 @@ public class JsonVolunteerRepository implements VolunteerRepository {
                 false
         ));
 
-        volunteers.add(new Volunteer(
+        put(new Volunteer(
                 UUID.randomUUID(),
                 "Rachael", 
                 "Mark",
@@ -122,7 +793,7 @@ public class JsonVolunteerRepository implements VolunteerRepository {
                 true
         ));
 
-            volunteers.add(new Volunteer(
+            put(new Volunteer(
                 UUID.randomUUID(),
                 "Joshua", 
                 "Nun",
@@ -133,7 +804,7 @@ public class JsonVolunteerRepository implements VolunteerRepository {
                 true
             ));
 
-            volunteers.add(new Volunteer(
+            put(new Volunteer(
                 UUID.randomUUID(),
                 "Sarah", 
                 "Bethel", 
@@ -150,57 +821,453 @@ public class JsonVolunteerRepository implements VolunteerRepository {
     // CRUD operations 
 
     // Saves a new volunteer to the list or updates an existing one, then saves the list to the JSON file.
+    // Only saves of the same volunteer wait for each other; the shared write lock is held just for the
+    // in-memory update.
     @Override
     public Volunteer save(Volunteer volunteer) {
-        Optional<Volunteer> existingVolunteer = findById(volunteer.getId());
-        if (existingVolunteer.isPresent()) {
-            // Update the existing volunteer's fields except for the ID
-            int index = volunteers.indexOf(existingVolunteer.get());
-            volunteers.set(index, volunteer); // Assumes that volunteer has the same ID
-        } else {
-            // For a new volunteer, ensure the ID is set (possibly in the constructor before this point)
-            volunteers.add(volunteer);
+        ensureLoaded();
+        long ticket;
+        ReentrantLock stripe = stripeFor(volunteer.getId());
+        stripe.lock();
+        try {
+            // Replaces the row of an existing volunteer with the same ID, or appends a new one,
+            // using the primary-key index instead of scanning the list.
+            long stamp = lock.writeLock();
+            try {
+                version++;
+                put(volunteer);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            ticket = persist(WriteAheadLog.Entry.put(volunteer));
+        } finally {
+            stripe.unlock();
         }
-        saveVolunteers();
+        awaitDurable(ticket);
         return volunteer;
     }
 
-    // Finds a volunteer by their UUID.
+    // Finds a volunteer by their UUID without blocking: the lookup runs as an optimistic read and is only
+    // repeated under the read lock if a write happened meanwhile. While binary snapshots are still mapped,
+    // only the matching record of the volunteer's shard is decoded.
     @Override
     public Optional<Volunteer> findById(UUID id) {
-            return volunteers.stream()
-                             .filter(volunteer -> volunteer.getId().equals(id))
-                             .findFirst();
+        if (mapped) {
+            BinaryVolunteerSnapshot snapshot = shardFor(id).getMappedSnapshot();
+            if (snapshot != null) {
+                return snapshot.find(id);
+            }
+        }
+        long stamp = lock.tryOptimisticRead();
+        Volunteer volunteer = null;
+        try {
+            volunteer = lookup(id);
+        } catch (RuntimeException e) {
+            // A concurrent write changed the index underneath the read; validation below fails and it is retried.
+        }
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                volunteer = lookup(id);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return Optional.ofNullable(volunteer);
+    }
+
+    // Looks a volunteer up in the primary-key index.
+    private Volunteer lookup(UUID id) {
+        Integer row = rowsById.get(id);
+        return row == null ? null : rows.get(row);
     }
 
     // Returns a list of all volunteers.
     @Override
     public List<Volunteer> findAll() {
-        return volunteers;
+        return volunteers();
     }
 
     // Removes a volunteer from the list and updates the JSON file.
     @Override
-        public void delete(Volunteer volunteer) {
-        volunteers.remove(volunteer);
-        saveVolunteers();
+    public void delete(Volunteer volunteer) {
+        ensureLoaded();
+        long ticket;
+        ReentrantLock stripe = stripeFor(volunteer.getId());
+        stripe.lock();
+        try {
+            long stamp = lock.writeLock();
+            try {
+                version++;
+                remove(volunteer.getId());
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            ticket = persist(WriteAheadLog.Entry.delete(volunteer.getId()));
+        } finally {
+            stripe.unlock();
+        }
+        awaitDurable(ticket);
+    }
+
+    // Adds a skill to a volunteer, updating the skill index for that volunteer only.
+    @Override
+    public Optional<Volunteer> addSkill(UUID id, String skill) {
+        return updateSkills(id, skills -> skills.add(skill));
+    }
+
+    // Removes a skill from a volunteer, updating the skill index for that volunteer only.
+    @Override
+    public Optional<Volunteer> removeSkill(UUID id, String skill) {
+        return updateSkills(id, skills -> skills.remove(skill));
+    }
+
+    // Applies a change to a copy of a volunteer's skills and swaps it in, so threads still reading the old list
+    // are not affected, then re-indexes just that volunteer's skills.
+    private Optional<Volunteer> updateSkills(UUID id, Consumer<List<String>> change) {
+        ensureLoaded();
+        long ticket;
+        Volunteer volunteer;
+        ReentrantLock stripe = stripeFor(id);
+        stripe.lock();
+        try {
+            long stamp = lock.writeLock();
+            try {
+                Integer row = rowsById.get(id);
+                if (row == null) {
+                    return Optional.empty();
+                }
+                volunteer = rows.get(row);
+                List<String> skills = new ArrayList<>(volunteer.getSkills());
+                change.accept(skills);
+                volunteer.setSkills(skills);
+                int[] skillCodes = internSkills(volunteer);
+                invalidateSearches(row);
+                skillIndex.index(row, codes(skillCodes));
+                if (columns != null) {
+                    columns.set(row, volunteer.isActive(), roleDictionary.find(volunteer.getRole()), skillCodes);
+                }
+                invalidateSearches(row);
+                version++;
+                stampRow(row);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            ticket = persist(WriteAheadLog.Entry.put(volunteer));
+        } finally {
+            stripe.unlock();
+        }
+        awaitDurable(ticket);
+        return Optional.of(volunteer);
     }
 
-    // Finds volunteers by a specific skill.
+    // Finds volunteers with any of the given skills using the skill index, in insertion order.
     @Override 
-    public List<Volunteer> findBySkills(List<String> skills) { // Change 'skill' to 'skills' in the parameter
-    return volunteers.stream()
-                     .filter(volunteer -> volunteer.getSkills() != null && !Collections.disjoint(volunteer.getSkills(), skills))
-                     .collect(Collectors.toList());
+    public List<Volunteer> findBySkills(List<String> skills) {
+        ensureLoaded();
+        long stamp = lock.readLock();
+        try {
+            List<Integer> codes = new ArrayList<>();
+            if (skills != null) {
+                for (String skill : skills) {
+                    codes.add(skillDictionary.find(skill));
+                }
+            }
+            return volunteersAt(skillIndex.rowsWithAny(codes));
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
 
-     // Finds volunteers based on their activity status.
+     // Finds volunteers based on their activity status using the active bitmap, or the active column if enabled.
     @Override
     public List<Volunteer> findByIsActive(boolean isActive) {
-        return volunteers.stream()
-                         .filter(volunteer -> volunteer.isActive() == isActive)
-                         .collect(Collectors.toList());
+        ensureLoaded();
+        long stamp = lock.readLock();
+        try {
+            return volunteersAt(columns != null ? columns.rowsWithActive(isActive, parallelScan) : activeIndex.rowsWith(isActive));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Answers an advanced search from the search cache or, on a miss, by intersecting the active, role and skill
+    // bitmaps (or scanning the columns) and materializing only the matching volunteers. The result is cached while the read lock is still
+    // held, so it cannot outlive a change made after it was computed.
+    @Override
+    public List<Volunteer> search(AdvancedSearchQuery query) {
+        ensureLoaded();
+        long stamp = lock.readLock();
+        try {
+            return searchCache.get(searchKey(query), key -> Collections.unmodifiableList(volunteersAt(matching(query))));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Looks volunteers up by the start of words in their names, email or contact number. Every word of the text
+    // must prefix some token of the volunteer; the candidate rows come from the prefix index, so no volunteer is
+    // examined unless it matches.
+    @Override
+    public List<Volunteer> lookup(String text, int limit) {
+        Set<String> terms = PrefixIndex.tokenize(text);
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        ensureLoaded();
+        long stamp = lock.readLock();
+        try {
+            RoaringBitmap matches = textIndex.rowsMatchingAll(terms);
+            List<Volunteer> volunteers = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+            PeekableIntIterator iterator = matches.getIntIterator();
+            while (iterator.hasNext() && volunteers.size() < limit) {
+                volunteers.add(rows.get(iterator.next()));
+            }
+            return volunteers;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Plans and runs a search without the search cache, reporting the estimated and actual rows of each step.
+    @Override
+    public QueryPlan explain(AdvancedSearchQuery query) {
+        ensureLoaded();
+        long stamp = lock.readLock();
+        try {
+            long totalRows = liveRows.getLongCardinality();
+            if (columns != null) {
+                QueryPlan plan = planner.columnPlan(query, totalRows, rows.size());
+                long start = System.nanoTime();
+                RoaringBitmap matches = columns.scan(searchKey(query), parallelScan);
+                plan.setElapsedMicros(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                plan.getSteps().get(0).setActualRows(matches.getLongCardinality());
+                return plan;
+            }
+            QueryPlan plan = planner.plan(query, totalRows);
+            long start = System.nanoTime();
+            planner.execute(query, plan);
+            plan.setElapsedMicros(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            return plan;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Returns one page of all volunteers in insertion order, starting after the cursor.
+    @Override
+    public VolunteerPage findPage(String cursor, int limit) {
+        ensureLoaded();
+        long stamp = lock.readLock();
+        try {
+            return page(liveRows, cursor, limit);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Returns one page of the volunteers matching an advanced search, starting after the cursor.
+    @Override
+    public VolunteerPage searchPage(AdvancedSearchQuery query, String cursor, int limit) {
+        ensureLoaded();
+        long stamp = lock.readLock();
+        try {
+            return page(matching(query), cursor, limit);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Passes every volunteer to the action in insertion order. Volunteers are copied out a chunk at a time under the
+    // read lock and handed over after releasing it, so a slow consumer such as a streaming HTTP response neither blocks
+    // writers nor needs a copy of the whole roster.
+    @Override
+    public void forEachVolunteer(Consumer<? super Volunteer> action) {
+        ensureLoaded();
+        List<Volunteer> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        int next = 0;
+        while (next >= 0) {
+            long stamp = lock.readLock();
+            try {
+                PeekableIntIterator iterator = liveRows.getIntIterator();
+                iterator.advanceIfNeeded(next);
+                while (iterator.hasNext() && chunk.size() < STREAM_CHUNK_SIZE) {
+                    next = iterator.next() + 1;
+                    chunk.add(rows.get(next - 1));
+                }
+                if (!iterator.hasNext()) {
+                    next = -1;
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+            chunk.forEach(action);
+            chunk.clear();
+        }
+    }
+
+    // Applies a validated batch of operations in order under a single write-lock acquisition, then persists them
+    // together. The stripes of every volunteer involved are taken first, in stripe order so concurrent batches
+    // cannot deadlock, and held until the batch is persisted so single saves cannot interleave with it on disk.
+    @Override
+    public void applyBatch(List<BatchOperation> operations) {
+        if (operations.isEmpty()) {
+            return;
+        }
+        ensureLoaded();
+        TreeSet<Integer> stripeNumbers = new TreeSet<>();
+        for (BatchOperation operation : operations) {
+            stripeNumbers.add(stripeNumber(operationId(operation)));
+        }
+        long ticket;
+        List<WriteAheadLog.Entry> entries = new ArrayList<>(operations.size());
+        stripeNumbers.forEach(number -> stripes[number].lock());
+        try {
+            long stamp = lock.writeLock();
+            try {
+                for (BatchOperation operation : operations) {
+                    version++;
+                    if (operation.getOp() == BatchOperation.Type.DELETE) {
+                        remove(operation.getId());
+                        entries.add(WriteAheadLog.Entry.delete(operation.getId()));
+                    } else {
+                        put(operation.getVolunteer());
+                        entries.add(WriteAheadLog.Entry.put(operation.getVolunteer()));
+                    }
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            ticket = persistAll(entries);
+        } finally {
+            stripeNumbers.descendingSet().forEach(number -> stripes[number].unlock());
+        }
+        awaitDurable(ticket);
+    }
+
+    // Returns the ID of the volunteer a batch operation changes.
+    private static UUID operationId(BatchOperation operation) {
+        return operation.getOp() == BatchOperation.Type.DELETE ? operation.getId() : operation.getVolunteer().getId();
+    }
+
+    // Returns the dictionary of skills held by the stored volunteers.
+    Dictionary getSkillDictionary() {
+        return skillDictionary;
+    }
+
+    // Returns the hit, miss and eviction counts of the search cache.
+    CacheStats getSearchCacheStats() {
+        return searchCache.stats();
+    }
+
+    // Returns the current data version without taking any lock.
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    // Returns the version at which a volunteer was last changed. Volunteers still in a mapped snapshot have not
+    // changed since start-up, so they report the current version, which no mutation has moved yet.
+    @Override
+    public OptionalLong findVersion(UUID id) {
+        return readVersion(id, null);
+    }
+
+    // Returns the version of a volunteer instance, as long as its row still holds that very instance. Volunteers
+    // still in a mapped snapshot are checked the same way: the snapshot caches each record it decodes, so every
+    // lookup returns the same instance until the repository takes the records over.
+    @Override
+    public OptionalLong findVersion(Volunteer volunteer) {
+        return readVersion(volunteer.getId(), volunteer);
+    }
+
+    // Reads a row's version, optionally only if the row holds the given instance.
+    private OptionalLong readVersion(UUID id, Volunteer instance) {
+        if (mapped) {
+            BinaryVolunteerSnapshot snapshot = shardFor(id).getMappedSnapshot();
+            if (snapshot != null) {
+                return snapshot.find(id).filter(found -> instance == null || found == instance).isPresent()
+                        ? OptionalLong.of(version) : OptionalLong.empty();
+            }
+        }
+        // Read optimistically like findById, since the response cache asks for the version of every volunteer it writes.
+        long stamp = lock.tryOptimisticRead();
+        OptionalLong version = OptionalLong.empty();
+        try {
+            version = lookupVersion(id, instance);
+        } catch (RuntimeException e) {
+            // A concurrent write changed the index underneath the read; validation below fails and it is retried.
+        }
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                version = lookupVersion(id, instance);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return version;
+    }
+
+    private OptionalLong lookupVersion(UUID id, Volunteer instance) {
+        Integer row = rowsById.get(id);
+        if (row == null || (instance != null && rows.get(row) != instance)) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(rowVersions[row]);
+    }
+
+    // Registers a listener for removed volunteers.
+    @Override
+    public void addRemovalListener(Consumer<UUID> listener) {
+        removalListeners.add(listener);
+    }
+
+    // Normalizes a query against the repository's dictionaries, without adding to them.
+    private SearchKey searchKey(AdvancedSearchQuery query) {
+        return SearchKey.of(query, roleDictionary, skillDictionary);
+    }
+
+    // Finds the rows matching a query by scanning the columns if enabled, otherwise by running the planner's cheapest
+    // plan for it. The caller must hold the lock.
+    private RoaringBitmap matching(AdvancedSearchQuery query) {
+        if (columns != null) {
+            return columns.scan(searchKey(query), parallelScan);
+        }
+        return planner.execute(query, planner.plan(query, liveRows.getLongCardinality()));
+    }
+
+    // Takes up to limit matching rows after the cursor. The iterator seeks straight to the cursor's row instead of
+    // counting the rows before it, so later pages cost the same as the first. The caller must hold the lock.
+    private VolunteerPage page(RoaringBitmap matches, String cursor, int limit) {
+        PeekableIntIterator iterator = matches.getIntIterator();
+        iterator.advanceIfNeeded(firstRowAfter(cursor));
+        List<Volunteer> volunteers = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+        int last = -1;
+        while (iterator.hasNext() && volunteers.size() < limit) {
+            last = iterator.next();
+            volunteers.add(rows.get(last));
+        }
+        String nextCursor = iterator.hasNext() ? new PageCursor(epoch, last, rows.get(last).getId()).encode() : null;
+        return new VolunteerPage(volunteers, nextCursor);
+    }
+
+    // Resolves a cursor to the first row of the page after it. Cursors issued before a restart no longer match the
+    // row numbering and are resolved through the ID of their last volunteer instead.
+    private int firstRowAfter(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        PageCursor position = PageCursor.decode(cursor);
+        if (position.epoch() == epoch) {
+            return position.row() + 1;
+        }
+        Integer row = rowsById.get(position.id());
+        if (row == null) {
+            throw new InvalidPageRequestException("The page cursor has expired; start again from the first page.");
+        }
+        return row + 1;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.cbfacademy.apiassessment.exception.InvalidPageRequestException;
+
+/**
+ * Position of the last volunteer on a page, encoded as an opaque URL-safe token.
+ * <p>
+ * The row number lets the next page start right after it without counting the rows before, so every page costs
+ * the same. Row numbers are only stable while the repository instance that issued them is running, so the token
+ * also carries that instance's epoch and the volunteer's ID: after a restart the ID is used to find the row again.
+ * </p>
+ *
+ * @param epoch the epoch of the repository instance that issued the cursor
+ * @param row   the row of the last volunteer on the page
+ * @param id    the ID of the last volunteer on the page
+ */
+record PageCursor(long epoch, int row, UUID id) {
+
+    // epoch (long), row (int), id (two longs)
+    private static final int LENGTH = 28;
+
+    /**
+     * Encodes the cursor as a URL-safe token.
+     *
+     * @return the token
+     */
+    String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH)
+                .putLong(epoch).putInt(row)
+                .putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the token
+     * @return the cursor
+     * @throws InvalidPageRequestException if the token is malformed
+     */
+    static PageCursor decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageRequestException("Malformed page cursor.");
+        }
+        if (bytes.length != LENGTH) {
+            throw new InvalidPageRequestException("Malformed page cursor.");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long epoch = buffer.getLong();
+        int row = buffer.getInt();
+        UUID id = new UUID(buffer.getLong(), buffer.getLong());
+        if (row < 0) {
+            throw new InvalidPageRequestException("Malformed page cursor.");
+        }
+        return new PageCursor(epoch, row, id);
+    }
+
+}
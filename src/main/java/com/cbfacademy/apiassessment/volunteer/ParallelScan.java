@@ -0,0 +1,122 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits large scans of the repository's rows across a dedicated {@link ForkJoinPool}.
+ * <p>
+ * A scan over fewer items than the threshold runs on the calling thread. A larger one is split in halves down to
+ * chunks of roughly {@code threshold / parallelism} items, which the pool's workers run while the caller waits.
+ * Each chunk writes only its own slice of the output, so the result is the same, in the same order, as a
+ * sequential scan. The pool is separate from {@link ForkJoinPool#commonPool()}, so large searches neither occupy
+ * the common pool's threads nor queue behind other work submitted to it, and searches below the threshold never
+ * wait for the pool at all.
+ * </p>
+ * <p>
+ * The caller must hold whatever lock protects the data being scanned until the scan returns; the workers read it
+ * on the caller's behalf.
+ * </p>
+ */
+final class ParallelScan {
+
+    // Smallest chunk worth handing to another thread.
+    private static final int MIN_CHUNK = 4096;
+
+    /**
+     * A scan of the items from one index, inclusive, to another, exclusive.
+     */
+    @FunctionalInterface
+    interface RangeAction {
+        void run(int from, int to);
+    }
+
+    // Workers running the chunks, null when scans are always sequential.
+    private final ForkJoinPool pool;
+
+    // Number of items from which a scan is split.
+    private final int threshold;
+
+    // Number of items per chunk.
+    private final int chunkSize;
+
+
+    /**
+     * Creates a scanner.
+     *
+     * @param parallelism the number of worker threads; 1 or less runs every scan on the calling thread
+     * @param threshold   the number of items from which a scan is split
+     */
+    ParallelScan(int parallelism, int threshold) {
+        this.threshold = Math.max(1, threshold);
+        this.chunkSize = Math.max(MIN_CHUNK, this.threshold / Math.max(1, parallelism));
+        this.pool = parallelism <= 1 ? null : new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("volunteer-scan-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Tells whether a scan over the given number of items is split.
+     *
+     * @param size the number of items
+     * @return true if the scan runs on the pool
+     */
+    boolean splits(long size) {
+        return pool != null && size >= threshold;
+    }
+
+    /**
+     * Runs an action over the items from 0 to size, split into chunks on the pool if the scan is large enough,
+     * and waits for it to finish.
+     *
+     * @param size   the number of items
+     * @param action the scan of one range; ranges never overlap, and every range boundary other than size is a
+     *               multiple of 64
+     */
+    void forEachRange(int size, RangeAction action) {
+        if (splits(size)) {
+            pool.invoke(new Chunk(0, size, action));
+        } else {
+            action.run(0, size);
+        }
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    // A range of items, split in halves until it is no larger than a chunk.
+    private final class Chunk extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final RangeAction action;
+
+        Chunk(int from, int to, RangeAction action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                action.run(from, to);
+                return;
+            }
+            // Split on a multiple of 64 so a chunk never shares a word of a bitset with its neighbour.
+            int middle = ((from + to) >>> 1) & ~63;
+            invokeAll(new Chunk(from, middle, action), new Chunk(middle, to, action));
+        }
+    }
+
+}
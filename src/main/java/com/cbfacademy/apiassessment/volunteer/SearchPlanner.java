@@ -0,0 +1,244 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.IntPredicate;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import com.cbfacademy.apiassessment.index.BitmapIndex;
+import com.cbfacademy.apiassessment.index.Dictionary;
+import com.cbfacademy.apiassessment.index.InvertedIndex;
+import com.cbfacademy.apiassessment.search.AdvancedSearchQuery;
+import com.cbfacademy.apiassessment.search.QueryPlan;
+import com.cbfacademy.apiassessment.search.SearchKey;
+
+/**
+ * Cost-based planner for advanced searches over the repository's active, role and skill indexes.
+ * <p>
+ * The indexes keep the number of rows holding each value, which serve as the cardinality statistics. Predicates
+ * are applied from the most to the least selective, so the candidate set shrinks as early as possible. The first
+ * predicate's rows are read from its index; each later one either intersects the candidates with its index bitmap
+ * or, when only a few candidates are left and the predicate's bitmap is large, checks each candidate's indexed value
+ * directly, whichever the cost model estimates to be cheaper. Roles and skills are indexed by their dictionary
+ * codes, so those checks compare ints.
+ * </p>
+ * <p>
+ * Not thread-safe; the owning repository must hold its lock while planning and executing.
+ * </p>
+ */
+final class SearchPlanner {
+
+    // Relative cost of one row in a bitmap operation, which handles many rows per machine word.
+    static final double BITMAP_ROW_COST = 0.05;
+
+    // Relative cost of checking one candidate's indexed value.
+    static final double FILTER_ROW_COST = 1.0;
+
+    // Relative cost of testing one row of the columnar store, read sequentially from primitive arrays.
+    static final double COLUMN_ROW_COST = 0.1;
+
+    private static final String ACTIVE = "active";
+    private static final String ROLE = "role";
+    private static final String SKILLS = "skills";
+
+    private final InvertedIndex<Integer> skillIndex;
+    private final BitmapIndex<Integer> roleIndex;
+    private final BitmapIndex<Boolean> activeIndex;
+    private final Dictionary roles;
+    private final Dictionary skills;
+
+
+    /**
+     * Constructs a planner over the repository's indexes.
+     *
+     * @param skillIndex  the skill index
+     * @param roleIndex   the role index
+     * @param activeIndex the active-status index
+     * @param roles       the dictionary the role index is keyed by
+     * @param skills      the dictionary the skill index is keyed by
+     */
+    SearchPlanner(InvertedIndex<Integer> skillIndex, BitmapIndex<Integer> roleIndex, BitmapIndex<Boolean> activeIndex,
+            Dictionary roles, Dictionary skills) {
+        this.skillIndex = skillIndex;
+        this.roleIndex = roleIndex;
+        this.activeIndex = activeIndex;
+        this.roles = roles;
+        this.skills = skills;
+    }
+
+    /**
+     * Chooses the order and access method of the query's predicates.
+     *
+     * @param query     the query
+     * @param totalRows the number of live volunteers
+     * @return the plan, not yet run
+     */
+    QueryPlan plan(AdvancedSearchQuery query, long totalRows) {
+        List<Predicate> predicates = predicates(query, totalRows);
+        predicates.sort(Comparator.comparingLong(Predicate::rows));
+
+        QueryPlan plan = new QueryPlan(totalRows);
+        double candidates = 0;
+        for (Predicate predicate : predicates) {
+            QueryPlan.Access access;
+            double cost;
+            if (plan.getSteps().isEmpty()) {
+                access = QueryPlan.Access.SCAN;
+                cost = predicate.touched() * BITMAP_ROW_COST;
+                candidates = predicate.rows();
+            } else {
+                double intersect = (predicate.touched() + candidates) * BITMAP_ROW_COST;
+                double filter = candidates * FILTER_ROW_COST;
+                access = filter < intersect ? QueryPlan.Access.FILTER : QueryPlan.Access.INTERSECT;
+                cost = Math.min(filter, intersect);
+                candidates = totalRows == 0 ? 0 : candidates * predicate.rows() / totalRows;
+            }
+            plan.addStep(new QueryPlan.Step(predicate.field(), predicate.condition(), access, predicate.rows(),
+                    Math.round(candidates), cost));
+        }
+        return plan;
+    }
+
+    /**
+     * Describes a scan of the columnar store as a single step testing every predicate, with the result estimated
+     * from the index counts assuming the predicates are independent.
+     *
+     * @param query     the query
+     * @param totalRows the number of live volunteers
+     * @param rowCount  the number of rows the columns hold, including the gaps left by deletes
+     * @return the plan, not yet run
+     */
+    QueryPlan columnPlan(AdvancedSearchQuery query, long totalRows, long rowCount) {
+        List<String> fields = new ArrayList<>(3);
+        List<String> conditions = new ArrayList<>(3);
+        double rows = totalRows;
+        for (Predicate predicate : predicates(query, totalRows)) {
+            fields.add(predicate.field());
+            conditions.add(predicate.field() + " " + predicate.condition());
+            rows = totalRows == 0 ? 0 : rows * predicate.rows() / totalRows;
+        }
+        QueryPlan plan = new QueryPlan(totalRows);
+        plan.addStep(new QueryPlan.Step(String.join(", ", fields), String.join(" and ", conditions),
+                QueryPlan.Access.COLUMN_SCAN, totalRows, Math.round(rows), rowCount * COLUMN_ROW_COST));
+        return plan;
+    }
+
+    /**
+     * Runs a plan, recording the actual number of rows left after each step.
+     *
+     * @param query the query the plan was made for
+     * @param plan  the plan
+     * @return a new bitmap of the matching rows
+     */
+    RoaringBitmap execute(AdvancedSearchQuery query, QueryPlan plan) {
+        SearchKey key = SearchKey.of(query, roles, skills);
+        RoaringBitmap candidates = new RoaringBitmap();
+        for (QueryPlan.Step step : plan.getSteps()) {
+            if (step.getAccess() == QueryPlan.Access.SCAN) {
+                candidates = rowsMatching(step.getField(), key);
+            } else if (!candidates.isEmpty()) {
+                if (step.getAccess() == QueryPlan.Access.INTERSECT) {
+                    intersect(candidates, step.getField(), key);
+                } else {
+                    candidates = filter(candidates, rowFilter(step.getField(), key));
+                }
+            }
+            step.setActualRows(candidates.getLongCardinality());
+        }
+        return candidates;
+    }
+
+    // Estimates the rows each predicate of the query matches from the index counts.
+    private List<Predicate> predicates(AdvancedSearchQuery query, long totalRows) {
+        SearchKey key = SearchKey.of(query, roles, skills);
+        List<Predicate> predicates = new ArrayList<>(3);
+        long active = activeIndex.count(key.active());
+        predicates.add(new Predicate(ACTIVE, "= " + key.active(), active, active));
+        if (key.role() != null) {
+            long role = roleIndex.count(key.role());
+            predicates.add(new Predicate(ROLE, "= " + query.getRole(), role, role));
+        }
+        if (!key.skills().isEmpty()) {
+            // A volunteer has several skills, so the union or intersection is estimated assuming skills are held
+            // independently.
+            long touched = 0;
+            double missing = 1;
+            double all = 1;
+            for (Integer skill : key.skills()) {
+                int count = skillIndex.count(skill);
+                double share = totalRows == 0 ? 0 : Math.min(1, count / (double) totalRows);
+                touched += count;
+                missing *= 1 - share;
+                all *= share;
+            }
+            Set<String> named = new TreeSet<>();
+            for (String skill : query.getSkills()) {
+                if (skill != null) {
+                    named.add(skill);
+                }
+            }
+            predicates.add(key.allSkills()
+                    ? new Predicate(SKILLS, "all of " + named, Math.round(totalRows * all), touched)
+                    : new Predicate(SKILLS, "any of " + named, Math.round(totalRows * (1 - missing)), touched));
+        }
+        return predicates;
+    }
+
+    // Reads the rows matching one predicate from its index.
+    private RoaringBitmap rowsMatching(String field, SearchKey key) {
+        return switch (field) {
+            case ACTIVE -> activeIndex.rowsWith(key.active());
+            case ROLE -> roleIndex.rowsWith(key.role());
+            default -> key.allSkills() ? skillIndex.rowsWithAll(key.skills()) : skillIndex.rowsWithAny(key.skills());
+        };
+    }
+
+    // Narrows the candidates down to the rows matching one predicate by intersecting bitmaps.
+    private void intersect(RoaringBitmap candidates, String field, SearchKey key) {
+        switch (field) {
+            case ACTIVE -> activeIndex.retainRowsWith(candidates, key.active());
+            case ROLE -> roleIndex.retainRowsWith(candidates, key.role());
+            default -> candidates.and(key.allSkills() ? skillIndex.rowsWithAll(key.skills()) : skillIndex.rowsWithAny(key.skills()));
+        }
+    }
+
+    // Tests a single row against one predicate using the value its index holds for the row.
+    private IntPredicate rowFilter(String field, SearchKey key) {
+        return switch (field) {
+            case ACTIVE -> row -> Boolean.valueOf(key.active()).equals(activeIndex.valueFor(row));
+            case ROLE -> row -> key.role().equals(roleIndex.valueFor(row));
+            default -> row -> {
+                List<Integer> skills = skillIndex.keysFor(row);
+                if (key.allSkills()) {
+                    return skills.containsAll(key.skills());
+                }
+                for (Integer skill : key.skills()) {
+                    if (skills.contains(skill)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        };
+    }
+
+    // Keeps the candidates passing the filter.
+    private static RoaringBitmap filter(RoaringBitmap candidates, IntPredicate matches) {
+        RoaringBitmap kept = new RoaringBitmap();
+        candidates.forEach((int row) -> {
+            if (matches.test(row)) {
+                kept.add(row);
+            }
+        });
+        return kept;
+    }
+
+    // A predicate of the query with the number of rows it matches and the number of index rows read to apply it.
+    private record Predicate(String field, String condition, long rows, long touched) {
+    }
+
+}
@@ -1,17 +1,23 @@
 package com.cbfacademy.apiassessment.volunteer;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 import com.cbfacademy.apiassessment.person.Person;
+import com.fasterxml.jackson.annotation.JsonFilter;
 
 /**
  * Represents a Volunteer, extending the Person class with additional attributes
  * specific to the volunteer's role and activities within the organization.
  * Each volunteer is assigned a unique identifier and can have a specific role, skills,
  * and activity status.
+ * Responses can select which of its properties are written through the "volunteer" Jackson filter.
+ * When a volunteer is stored, the repository replaces its role and skills with the canonical instances from its
+ * dictionaries, so stored volunteers share one copy of each distinct value.
  */
+@JsonFilter("volunteer")
 public class Volunteer extends Person {
    // Unique identifier for each volunteer, automatically generated to ensure uniqueness
     private final UUID id;
@@ -19,7 +25,8 @@ public class Volunteer extends Person {
     // The volunteers role or position within the organisation
     private String role;
 
-    // Descriptive list of skills or expertise the volunteer brings to the organization
+    // Descriptive list of skills or expertise the volunteer brings to the organization, or null if not given.
+    // Never modified in place: changes swap in a new list, so lists already handed out stay as they were.
     private List<String> skills;
    
     // Indicates whether the volunteer is currently active within the organization
@@ -28,8 +35,10 @@ public class Volunteer extends Person {
 
     /**
      * Constructs a new Volunteer with specified personal and volunteer-specific details.
-     * A unique UUID is generated for each new volunteer to ensure distinct identification..
+     * A unique UUID is generated unless one is given, as when a stored volunteer is decoded or a request names its
+     * ID; the service refuses to create a volunteer whose ID is already in use.
      *
+     * @param id               The unique identifier of the volunteer, or null to generate a new one.
      * @param firstName        The first name of the volunteer.
      * @param lastName         The last name of the volunteer.
      * @param contactNumber    The contact number of the volunteer.
@@ -40,9 +49,9 @@ public class Volunteer extends Person {
      */
     public Volunteer(UUID id, String firstName, String lastName, String contactNumber, String email, String role, List<String> skills, boolean isActive) {
         super(firstName, lastName, contactNumber, email); // Initialize Person attributes
-        this.id = UUID.randomUUID(); // Generate a unique identifier
+        this.id = id != null ? id : UUID.randomUUID(); // Keep the given identifier or generate a unique one
         this.role = role;
-        this.skills = new ArrayList<>(skills); // Initialise with a copy of the provided list
+        this.skills = skills != null ? new ArrayList<>(skills) : null; // Initialise with a copy of the provided list
         this.isActive = isActive;
     }
 
@@ -83,10 +92,10 @@ public class Volunteer extends Person {
     /**
      * Returns the list of skills or expertise the volunteer contributes to their role.
      * 
-     * @return A list of skills or expertise the volunteer contributes to their role.
+     * @return A read-only list of skills or expertise the volunteer contributes to their role, or null if not given.
      */
     public List<String> getSkills() {
-        return skills;
+        return skills != null ? Collections.unmodifiableList(skills) : null;
     }
 
     /**
@@ -95,7 +104,7 @@ public class Volunteer extends Person {
      * @param skills A list representing the skills or expertise the volunteer contributes to their role.
      */
     public void setSkills(List<String> skills) {
-        this.skills = new ArrayList<>(skills); // Assign a copy of the provided list
+        this.skills = skills != null ? new ArrayList<>(skills) : null; // Assign a copy of the provided list
     }
 
 
@@ -125,7 +134,9 @@ public class Volunteer extends Person {
      * @param skill The skill to be added to the volunteer's list of skills.
      */
     public void addSkill(String skill) {
-        this.skills.add(skill);
+        List<String> updated = skills != null ? new ArrayList<>(skills) : new ArrayList<>();
+        updated.add(skill);
+        this.skills = updated;
     }
 
     /**
@@ -134,7 +145,11 @@ public class Volunteer extends Person {
      * @param skill The skill to be removed from the volunteer's list of skills. 
      */    
     public void removeSkill(String skill) {
-        this.skills.remove(skill);
+        if (skills != null && skills.contains(skill)) {
+            List<String> updated = new ArrayList<>(skills);
+            updated.remove(skill); // Only the first occurrence
+            this.skills = updated;
+        }
     }
-    
+
 }
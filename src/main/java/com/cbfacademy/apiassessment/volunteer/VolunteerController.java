@@ -3,12 +3,19 @@ package com.cbfacademy.apiassessment.volunteer;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.cbfacademy.apiassessment.search.AdvancedSearchQuery;
+import com.cbfacademy.apiassessment.search.QueryPlan;
+import com.cbfacademy.apiassessment.search.SkillMatch;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,18 +25,45 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
 
 
 /**
  * Handles HTTP requests related to volunteer management/
+ * Used when the application runs on the servlet stack; see {@code ReactiveVolunteerController}, built with the
+ * {@code reactive} Maven profile, for WebFlux.
  */
 @RestController
 @RequestMapping("/api/volunteers")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class VolunteerController {
-    
+
+    // Response header carrying the cursor for the next page.
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // Page size used when a cursor is given without a limit.
+    static final int DEFAULT_PAGE_SIZE = 50;
+
+    // Number of volunteers returned by a lookup without a limit.
+    static final int DEFAULT_LOOKUP_SIZE = 10;
+
     @Autowired
     private VolunteerService volunteerService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VolunteerJsonCache jsonCache;
+
      /**
      * Creates a new volunteer.
      *
@@ -41,29 +75,115 @@ public class VolunteerController {
         Volunteer savedVolunteer = volunteerService.createVolunteer(volunteer);
         return new ResponseEntity<>(savedVolunteer, HttpStatus.CREATED);
     }
+
+
+    /**
+     * Applies a batch of creates, updates and deletes in one request. The valid operations are persisted together,
+     * so importing many volunteers costs one write rather than one per volunteer.
+     *
+     * @param operations the operations to apply, in order
+     * @return one result per operation, each with the status the equivalent single request would have returned,
+     *         with a 200 OK status
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchResult>> applyBatch(@RequestBody List<BatchOperation> operations) {
+        List<BatchResult> results = volunteerService.applyBatch(operations);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
    
     /**
-     * Retrieves a list of all volunteers.
+     * Retrieves a list of all volunteers. If a limit or cursor is given, only one page is returned and the cursor
+     * for the next page is sent in the X-Next-Cursor and Link headers.
+     *
+     * Responds with 304 Not Modified, without reading any volunteers, if the If-None-Match header matches the
+     * current data version.
      *
-     * @return a list of volunteers with a 200 OK status
+     * @param limit the maximum number of volunteers on the page, optional
+     * @param cursor the cursor from the previous page, optional
+     * @param fields the comma-separated volunteer properties to write, optional
+     * @param request the current request, used to check the If-None-Match header
+     * @return a list of volunteers with a 200 OK status, or null once a 304 response has been prepared
      */
     @GetMapping
-    public ResponseEntity<List<Volunteer>> getAllVolunteers() {
-        List<Volunteer> volunteers = volunteerService.getAllVolunteers();
-        return new ResponseEntity<>(volunteers, HttpStatus.OK);
+    public ResponseEntity<?> getAllVolunteers(@RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) String fields,
+            WebRequest request) {
+        if (request.checkNotModified(volunteerService.getVersionTag())) {
+            return null;
+        }
+        if (limit == null && cursor == null) {
+            List<Volunteer> volunteers = volunteerService.getAllVolunteers();
+            return listResponse(volunteers, fields, new HttpHeaders());
+        }
+        return pageResponse(volunteerService.getVolunteerPage(cursor, pageLimit(limit)), fields);
     }
 
 
     /**
-     * Retrieves a volunteer by their ID.
+     * Streams all volunteers as newline-delimited JSON, one volunteer per line, when the client asks for
+     * application/x-ndjson. Volunteers are written as they are read from the repository, so the client starts
+     * receiving data immediately and the server never holds the whole response in memory.
+     *
+     * @param fields the comma-separated volunteer properties to write, optional
+     * @return the streaming response body with a 200 OK status
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllVolunteers(@RequestParam(required = false) String fields) {
+        FilterProvider filters = VolunteerFieldsAdvice.filtersFor(fields);
+        ObjectWriter writer = filters != null ? objectMapper.writer(filters) : objectMapper.writer();
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            try {
+                volunteerService.forEachVolunteer(volunteer -> {
+                    try {
+                        writer.writeValue(generator, volunteer);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.close();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Retrieves a volunteer by their ID. Responds with 304 Not Modified if the If-None-Match header matches the
+     * version at which the volunteer was last changed.
+     *
+     * The volunteer's cached JSON is returned, gzip-compressed if the client accepts it, unless fields are selected.
+     * The gzip body is a different representation from the identity one, so it gets its own ETag, and every response
+     * varies by Accept-Encoding.
      *
      * @param id the UUID of the volunteer to retrieve
-     * @return the requested volunteer with a 200 OK status
+     * @param fields the comma-separated volunteer properties to write, optional
+     * @param request the current request, used to check the If-None-Match and Accept-Encoding headers
+     * @return the requested volunteer with a 200 OK status, or 304 Not Modified if the client's copy is current
      */
-    @GetMapping("/api/volunteers/{id}")
-    public ResponseEntity<Volunteer> getVolunteerById(@PathVariable UUID id) {
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getVolunteerById(@PathVariable UUID id, @RequestParam(required = false) String fields,
+            WebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = fields == null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        if (request.checkNotModified(volunteerService.getVersionTag(id) + (gzip ? "-gzip" : ""))) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
         Volunteer volunteer = volunteerService.getVolunteerById(id);
-        return new ResponseEntity<>(volunteer, HttpStatus.OK);
+        if (fields != null) {
+            return new ResponseEntity<>(volunteer, headers, HttpStatus.OK);
+        }
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return new ResponseEntity<>(jsonCache.gzip(volunteer), headers, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(jsonCache.json(volunteer), headers, HttpStatus.OK);
     }
    
     /**
@@ -73,7 +193,7 @@ public class VolunteerController {
      * @param volunteerUpdate the updated volunteer information
      * @return the updated volunteer with a 200 OK status
      */
-    @PutMapping("/api/volunteers/{id}")
+    @PutMapping("/{id}")
     public ResponseEntity<Volunteer> updateVolunteer(@PathVariable UUID id, @RequestBody Volunteer volunteerUpdate) {
         Volunteer updatedVolunteer = volunteerService.updateVolunteer(id, volunteerUpdate);
         return new ResponseEntity<>(updatedVolunteer, HttpStatus.OK);
@@ -86,7 +206,7 @@ public class VolunteerController {
      * @param id the UUID of the volunteer to delete
      * @return a 204 No Content status on successful deletion
      */
-    @DeleteMapping("/api/volunteers/{id}")
+    @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteVolunteer(@PathVariable UUID id) {
         volunteerService.deleteVolunteer(id);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
@@ -94,15 +214,102 @@ public class VolunteerController {
 
     
     /**
-     * Searches for volunteers based on provided criteria such as skills and active status.
+     * Searches for volunteers based on provided criteria such as skills and active status. Paged like
+     * {@link #getAllVolunteers(Integer, String, String, WebRequest)} when a limit or cursor is given, and answered with
+     * 304 Not Modified when nothing has changed since the version in the If-None-Match header. With
+     * {@code skillMatch=RANKED} the top {@code limit} volunteers by number of matching skills are returned instead.
      *
      * @param query The search criteria encapsulated in an AdvancedSearchQuery object.
+     * @param limit The maximum number of volunteers on the page, optional.
+     * @param cursor The cursor from the previous page of the same search, optional.
+     * @param fields The comma-separated volunteer properties to write, optional.
+     * @param request The current request, used to check the If-None-Match header.
      * @return A list of volunteers that match the search criteria, wrapped in a ResponseEntity.
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Volunteer>> searchVolunteers(@ModelAttribute AdvancedSearchQuery query) {
-        List<Volunteer> volunteers = volunteerService.searchVolunteers(query);
-        return new ResponseEntity<>(volunteers, HttpStatus.OK);
+    public ResponseEntity<?> searchVolunteers(@ModelAttribute AdvancedSearchQuery query,
+            @RequestParam(required = false) Integer limit, @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields, WebRequest request) {
+        if (request.checkNotModified(volunteerService.getVersionTag())) {
+            return null;
+        }
+        if (query.getSkillMatch() == SkillMatch.RANKED && cursor == null) {
+            List<Volunteer> volunteers = volunteerService.rankVolunteers(query, pageLimit(limit));
+            return listResponse(volunteers, fields, new HttpHeaders());
+        }
+        if (limit == null && cursor == null) {
+            List<Volunteer> volunteers = volunteerService.searchVolunteers(query);
+            return listResponse(volunteers, fields, new HttpHeaders());
+        }
+        return pageResponse(volunteerService.searchVolunteerPage(query, cursor, pageLimit(limit)), fields);
+    }
+
+
+    /**
+     * Explains how a search with the same parameters as {@link #searchVolunteers} is evaluated: the order in which
+     * the active, role and skills predicates are applied, whether each reads, intersects or filters index rows, and
+     * the estimated and actual number of volunteers left after each step. The search is run, bypassing the cache.
+     *
+     * @param query The search criteria encapsulated in an AdvancedSearchQuery object.
+     * @return The query plan with a 200 OK status.
+     */
+    @GetMapping("/search/explain")
+    public ResponseEntity<QueryPlan> explainSearch(@ModelAttribute AdvancedSearchQuery query) {
+        return ResponseEntity.ok(volunteerService.explainSearch(query));
+    }
+
+
+    /**
+     * Looks volunteers up for type-ahead search by the start of the words in their first name, last name, email or
+     * contact number, e.g. {@code ?q=dav jud}. Answered from an in-memory prefix index, and with 304 Not Modified
+     * when nothing has changed since the version in the If-None-Match header.
+     *
+     * @param q The text typed so far.
+     * @param limit The maximum number of volunteers to return, optional.
+     * @param fields The comma-separated volunteer properties to write, optional.
+     * @param request The current request, used to check the If-None-Match header.
+     * @return Up to limit matching volunteers in insertion order, wrapped in a ResponseEntity.
+     */
+    @GetMapping("/lookup")
+    public ResponseEntity<?> lookupVolunteers(@RequestParam String q,
+            @RequestParam(defaultValue = "" + DEFAULT_LOOKUP_SIZE) int limit,
+            @RequestParam(required = false) String fields, WebRequest request) {
+        if (request.checkNotModified(volunteerService.getVersionTag())) {
+            return null;
+        }
+        List<Volunteer> volunteers = volunteerService.lookupVolunteers(q, limit);
+        return listResponse(volunteers, fields, new HttpHeaders());
+    }
+
+
+    // Falls back to the default page size when only a cursor is given.
+    private static int pageLimit(Integer limit) {
+        return limit != null ? limit : DEFAULT_PAGE_SIZE;
+    }
+
+
+    // Returns the volunteers on a page, linking to the next page if there is one.
+    private ResponseEntity<?> pageResponse(VolunteerPage page, String fields) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getNextCursor() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.getNextCursor())
+                    .toUriString();
+            headers.add(NEXT_CURSOR_HEADER, page.getNextCursor());
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return listResponse(page.getVolunteers(), fields, headers);
+    }
+
+
+    // Returns a list of volunteers. Without a field selection the body is assembled from each volunteer's cached
+    // JSON; with one, the list goes through Jackson so VolunteerFieldsAdvice can filter the properties.
+    private ResponseEntity<?> listResponse(List<Volunteer> volunteers, String fields, HttpHeaders headers) {
+        if (fields != null) {
+            return new ResponseEntity<>(volunteers, headers, HttpStatus.OK);
+        }
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new ResponseEntity<>(jsonCache.jsonArray(volunteers), headers, HttpStatus.OK);
     }
 
 
@@ -0,0 +1,66 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Applies the {@code fields} query parameter to volunteer responses, e.g. {@code ?fields=id,firstName,role}.
+ * <p>
+ * Only the listed properties of each volunteer are written. The selection is applied by Jackson's property filter
+ * while it serializes the original objects, so no trimmed copies are built and the skipped properties cost nothing.
+ * </p>
+ */
+@RestControllerAdvice(assignableTypes = VolunteerController.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class VolunteerFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    // Filter id declared by Volunteer's @JsonFilter annotation.
+    static final String FILTER_ID = "volunteer";
+
+    // Query parameter listing the properties to write.
+    static final String FIELDS_PARAMETER = "fields";
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+            MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            FilterProvider filters = filtersFor(servletRequest.getServletRequest().getParameter(FIELDS_PARAMETER));
+            if (filters != null) {
+                bodyContainer.setFilters(filters);
+            }
+        }
+    }
+
+    /**
+     * Builds the filters selecting the given comma-separated volunteer properties.
+     *
+     * @param fields the value of the fields parameter, may be null
+     * @return the filters, or null if no fields were given and volunteers should be written in full
+     */
+    static FilterProvider filtersFor(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> names = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet());
+        return new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(names));
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Jackson settings for writing volunteers in HTTP responses.
+ */
+@Configuration
+public class VolunteerJacksonConfiguration {
+
+    /**
+     * Registers a default filter that writes every property, so volunteers serialize in full unless a response
+     * selects fields with {@link VolunteerFieldsAdvice}.
+     *
+     * @return the customizer adding the default filter provider to the application's ObjectMapper
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer volunteerFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+}
@@ -0,0 +1,198 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.stereotype.Component;
+
+import com.cbfacademy.apiassessment.storage.StorageProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Cache of each volunteer's JSON encoding, so unchanged volunteers are serialized by Jackson once rather than on
+ * every list, search and get request.
+ * <p>
+ * Each entry records the repository version of the volunteer instance it was encoded from, read together with the
+ * check that the repository still holds that instance, and is only used while the volunteer is still at that
+ * version; saving or changing the volunteer moves its version and the next request encodes it again. An instance
+ * the repository no longer holds is encoded without being cached, and an entry whose volunteer changed or was
+ * deleted while it was being encoded is dropped again, so an entry never claims a newer version than the state it
+ * holds and a deleted volunteer is never cached.
+ * </p>
+ * <p>
+ * The repository evicts the entries of deleted volunteers, whichever API deleted them. The cache is bounded by
+ * {@link StorageProperties#getJsonCacheSize()} and evicts by Caffeine's frequency-based policy.
+ * </p>
+ */
+@Component
+public class VolunteerJsonCache {
+
+    private static final byte[] OPEN = { '[' };
+    private static final byte[] SEPARATOR = { ',' };
+    private static final byte[] CLOSE = { ']' };
+
+    // Cached encodings by volunteer ID, null when caching is disabled.
+    private final Cache<UUID, CachedJson> entries;
+
+    // Repository providing the version of each volunteer.
+    private final VolunteerRepository repository;
+
+    // Writer with the application's Jackson settings, writing every property.
+    private final ObjectWriter writer;
+
+    /**
+     * Constructs the cache.
+     *
+     * @param repository the repository providing volunteer versions
+     * @param objectMapper the application's ObjectMapper
+     * @param properties the storage properties, giving the cache size
+     */
+    public VolunteerJsonCache(VolunteerRepository repository, ObjectMapper objectMapper, StorageProperties properties) {
+        this.repository = repository;
+        this.writer = objectMapper.writer();
+        this.entries = properties.getJsonCacheSize() <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(properties.getJsonCacheSize())
+                .build();
+        repository.addRemovalListener(this::evict);
+    }
+
+    /**
+     * Returns the JSON encoding of a volunteer, encoding it only if it changed since it was last cached.
+     * The returned array is shared and must not be modified.
+     *
+     * @param volunteer the volunteer
+     * @return the volunteer's JSON bytes
+     */
+    public byte[] json(Volunteer volunteer) {
+        return entry(volunteer).json;
+    }
+
+    /**
+     * Returns the gzip-compressed JSON encoding of a volunteer, compressing it on first use.
+     * The returned array is shared and must not be modified.
+     *
+     * @param volunteer the volunteer
+     * @return the volunteer's gzip-compressed JSON bytes
+     */
+    public byte[] gzip(Volunteer volunteer) {
+        CachedJson entry = entry(volunteer);
+        byte[] gzip = entry.gzip;
+        if (gzip == null) {
+            gzip = compress(entry.json);
+            entry.gzip = gzip;
+        }
+        return gzip;
+    }
+
+    /**
+     * Returns a JSON array of the given volunteers, assembled by copying each volunteer's cached bytes.
+     *
+     * @param volunteers the volunteers, in the order to write them
+     * @return the JSON array bytes
+     */
+    public byte[] jsonArray(List<Volunteer> volunteers) {
+        byte[][] parts = new byte[volunteers.size()][];
+        int length = OPEN.length + CLOSE.length + Math.max(0, volunteers.size() - 1) * SEPARATOR.length;
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = json(volunteers.get(i));
+            length += parts[i].length;
+        }
+        byte[] array = new byte[length];
+        int offset = copy(OPEN, array, 0);
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                offset = copy(SEPARATOR, array, offset);
+            }
+            offset = copy(parts[i], array, offset);
+        }
+        copy(CLOSE, array, offset);
+        return array;
+    }
+
+    /**
+     * Removes a volunteer's cached encoding. Called by the repository when the volunteer is deleted.
+     *
+     * @param id the volunteer's UUID
+     */
+    public void evict(UUID id) {
+        if (entries != null) {
+            entries.invalidate(id);
+        }
+    }
+
+    /**
+     * Returns the number of cached encodings.
+     *
+     * @return the cache size
+     */
+    public long size() {
+        if (entries == null) {
+            return 0;
+        }
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    // Returns the up-to-date entry for a volunteer, encoding it on a miss. Instances the repository no longer holds,
+    // such as stale copies or deleted volunteers, are encoded without being cached.
+    private CachedJson entry(Volunteer volunteer) {
+        UUID id = volunteer.getId();
+        OptionalLong version = repository.findVersion(volunteer);
+        CachedJson entry = entries == null ? null : entries.getIfPresent(id);
+        if (entry != null && version.isPresent() && entry.version == version.getAsLong()) {
+            return entry;
+        }
+        try {
+            entry = new CachedJson(version.orElse(-1), writer.writeValueAsBytes(volunteer));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (entries != null && version.isPresent()) {
+            entries.put(id, entry);
+            // A change or delete made while encoding may have been evicted before the put; check again after it.
+            if (!repository.findVersion(volunteer).equals(version)) {
+                entries.asMap().remove(id, entry);
+            }
+        }
+        return entry;
+    }
+
+    private static int copy(byte[] source, byte[] target, int offset) {
+        System.arraycopy(source, 0, target, offset, source.length);
+        return offset + source.length;
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // A volunteer's encoding at one version; the compressed form is filled in lazily.
+    private static final class CachedJson {
+
+        private final long version;
+        private final byte[] json;
+        private volatile byte[] gzip;
+
+        private CachedJson(long version, byte[] json) {
+            this.version = version;
+            this.json = json;
+        }
+
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import java.util.List;
+
+/**
+ * One page of volunteers, in insertion order, together with the cursor for the page after it.
+ */
+public class VolunteerPage {
+
+    // The volunteers on this page.
+    private final List<Volunteer> volunteers;
+
+    // Opaque cursor for the next page, or null if this is the last page.
+    private final String nextCursor;
+
+
+    /**
+     * Constructs a page.
+     *
+     * @param volunteers the volunteers on this page
+     * @param nextCursor the cursor for the next page, or null if this is the last page
+     */
+    public VolunteerPage(List<Volunteer> volunteers, String nextCursor) {
+        this.volunteers = volunteers;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Returns the volunteers on this page.
+     *
+     * @return the volunteers, in insertion order
+     */
+    public List<Volunteer> getVolunteers() {
+        return volunteers;
+    }
+
+    /**
+     * Returns the cursor to pass to fetch the next page.
+     *
+     * @return the next cursor, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+}
@@ -2,7 +2,12 @@ package com.cbfacademy.apiassessment.volunteer;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.cbfacademy.apiassessment.search.AdvancedSearchQuery;
+import com.cbfacademy.apiassessment.search.QueryPlan;
 
 public interface VolunteerRepository {
 
@@ -33,6 +38,66 @@ public interface VolunteerRepository {
     List<Volunteer> findAll(); // Get all volunteers
 
 
+    /**
+     * Passes every volunteer to the given action in insertion order, without collecting them into a list first.
+     * Volunteers saved or deleted while the iteration is in progress may or may not be seen.
+     *
+     * @param action the action to run for each volunteer
+     */
+    void forEachVolunteer(Consumer<? super Volunteer> action);
+
+
+    /**
+     * Returns the current version of the data. The version increases with every save, delete or skill change, so
+     * two equal versions mean nothing has changed in between. Reading it does not touch the volunteers.
+     *
+     * @return the current data version
+     */
+    long getVersion();
+
+
+    /**
+     * Applies a batch of already validated operations in order, as a single change: the volunteers are updated under
+     * one lock acquisition and persisted together rather than one write per operation. Updates must carry the
+     * complete updated volunteer.
+     *
+     * @param operations the operations to apply
+     * @throws java.io.UncheckedIOException if the batch could not be written to disk
+     */
+    void applyBatch(List<BatchOperation> operations);
+
+
+    /**
+     * Returns the version at which the volunteer with the given ID was last saved or had its skills changed.
+     *
+     * @param id the UUID of the volunteer
+     * @return the volunteer's version, or an empty OptionalLong if no volunteer has the ID
+     */
+    OptionalLong findVersion(UUID id);
+
+
+    /**
+     * Returns the version at which the given volunteer instance was stored, read together with the check that the
+     * repository still holds that instance. Used to cache what is derived from an instance, such as its JSON, under
+     * the version the instance itself is at.
+     *
+     * @param volunteer a volunteer instance returned by the repository
+     * @return the instance's version, or an empty OptionalLong if the repository now holds a different instance for
+     *         its ID, or none
+     */
+    OptionalLong findVersion(Volunteer volunteer);
+
+
+    /**
+     * Registers a listener told the ID of each volunteer removed from the repository, whether by a single delete or
+     * a batch. Listeners run while the repository's write lock is held, so they must be quick and must not call back
+     * into the repository.
+     *
+     * @param listener receives the UUID of each removed volunteer
+     */
+    void addRemovalListener(Consumer<UUID> listener);
+
+
     /**
      * Deletes a given volunteer from the data store. If the volunteer does not exist, the operation may not perform any action.
      *
@@ -41,6 +106,26 @@ public interface VolunteerRepository {
     void delete(Volunteer volunteer); // Delete a volunteer
 
 
+    /**
+     * Adds a skill to the volunteer with the given identifier and saves the change.
+     *
+     * @param id    the unique identifier of the volunteer
+     * @param skill the skill to add
+     * @return an {@link Optional} containing the updated volunteer, or an empty {@link Optional} if no such volunteer exists
+     */
+    Optional<Volunteer> addSkill(UUID id, String skill);
+
+
+    /**
+     * Removes a skill from the volunteer with the given identifier and saves the change.
+     *
+     * @param id    the unique identifier of the volunteer
+     * @param skill the skill to remove
+     * @return an {@link Optional} containing the updated volunteer, or an empty {@link Optional} if no such volunteer exists
+     */
+    Optional<Volunteer> removeSkill(UUID id, String skill);
+
+
     /**
      * Finds volunteers by their skills. This method retrieves all volunteers that have any of the specified skills.
      *
@@ -57,5 +142,62 @@ public interface VolunteerRepository {
      * @return a list of volunteers matching the specified activity status, which may be empty if no such volunteers exist
      */
      List<Volunteer> findByIsActive(boolean isActive);
+
+
+    /**
+     * Finds volunteers matching an advanced query: the given active status, the role if one is specified,
+     * and any of the skills if any are specified, or all of them if the query's skill match is
+     * {@link com.cbfacademy.apiassessment.search.SkillMatch#ALL}. Results are not ranked.
+     *
+     * @param query the search criteria
+     * @return a list of matching volunteers in insertion order, which may be empty if no volunteers match
+     */
+    List<Volunteer> search(AdvancedSearchQuery query);
+
+
+    /**
+     * Looks volunteers up by the start of the words in their first name, last name, email or contact number, for
+     * type-ahead search. The text is split into words and matched case-insensitively; a volunteer matches if every
+     * word is the start of one of theirs, so {@code "dav jud"} finds David Judah.
+     *
+     * @param text  the text typed so far
+     * @param limit the maximum number of volunteers to return
+     * @return up to limit matching volunteers in insertion order, empty if the text has no words
+     */
+    List<Volunteer> lookup(String text, int limit);
+
+
+    /**
+     * Plans and runs an advanced query, bypassing any result cache, and reports how it was evaluated: the order and
+     * access method of each predicate with its estimated and actual number of rows.
+     *
+     * @param query the search criteria
+     * @return the plan, with actual row counts and the time taken filled in
+     */
+    QueryPlan explain(AdvancedSearchQuery query);
+
+
+    /**
+     * Returns one page of all volunteers in insertion order. Each page starts right after the position encoded in
+     * the cursor, so fetching a later page costs the same as fetching the first.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit  the maximum number of volunteers on the page
+     * @return the page, with the cursor for the next page if there are more volunteers
+     * @throws com.cbfacademy.apiassessment.exception.InvalidPageRequestException if the cursor is malformed or has expired
+     */
+    VolunteerPage findPage(String cursor, int limit);
+
+
+    /**
+     * Returns one page of the volunteers matching an advanced query, in insertion order.
+     *
+     * @param query  the search criteria
+     * @param cursor the cursor returned with the previous page of the same search, or null for the first page
+     * @param limit  the maximum number of volunteers on the page
+     * @return the page, with the cursor for the next page if there are more matches
+     * @throws com.cbfacademy.apiassessment.exception.InvalidPageRequestException if the cursor is malformed or has expired
+     */
+    VolunteerPage searchPage(AdvancedSearchQuery query, String cursor, int limit);
     
 }
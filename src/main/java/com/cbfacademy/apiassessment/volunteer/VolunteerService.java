@@ -2,8 +2,10 @@ package com.cbfacademy.apiassessment.volunteer;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import com.cbfacademy.apiassessment.search.AdvancedSearchQuery;
+import com.cbfacademy.apiassessment.search.QueryPlan;
 
 public interface VolunteerService {
     
@@ -13,6 +15,8 @@ public interface VolunteerService {
      *
      * @param volunteer The volunteer object containing all necessary information for creation.
      * @return The created volunteer with any additional data that might have been set during persistence, such as an ID.
+     * @throws com.cbfacademy.apiassessment.exception.VolunteerAlreadyExistsException if a volunteer with the same ID
+     *         already exists.
      */
     Volunteer createVolunteer(Volunteer volunteer);
 
@@ -24,6 +28,31 @@ public interface VolunteerService {
      */
     List<Volunteer> getAllVolunteers();
 
+    /**
+     * Passes every volunteer in the system to the given action, one at a time.
+     * This method is used to stream large rosters without holding them all in a list.
+     *
+     * @param action The action to run for each volunteer.
+     */
+    void forEachVolunteer(Consumer<? super Volunteer> action);
+
+    /**
+     * Returns a tag identifying the current state of all volunteers.
+     * The tag changes whenever any volunteer is created, updated or deleted, so it can be used as an HTTP ETag.
+     *
+     * @return The current data version tag.
+     */
+    String getVersionTag();
+
+    /**
+     * Returns a tag identifying the current state of one volunteer.
+     * The tag changes whenever that volunteer is updated.
+     *
+     * @param id The unique identifier of the volunteer.
+     * @return The volunteer's version tag.
+     */
+    String getVersionTag(UUID id);
+
     /**
      * Retrieves a volunteer by their unique identifier.
      * This method is essential for operations needing to access or modify a specific volunteer's details.
@@ -51,6 +80,16 @@ public interface VolunteerService {
      */
     void deleteVolunteer(UUID id);
 
+    /**
+     * Applies a batch of creates, updates and deletes.
+     * Every operation is validated like the equivalent single request; the valid ones are applied and persisted
+     * together, and invalid ones are reported without affecting the others.
+     *
+     * @param operations The operations to apply, in order.
+     * @return One result per operation, in the same order.
+     */
+    List<BatchResult> applyBatch(List<BatchOperation> operations);
+
     /**
      * Searches for volunteers based on a set of criteria encapsulated in an AdvancedSearchQuery object.
      * This method allows for complex queries, such as filtering by skills, availability, or other attributes.
@@ -59,5 +98,53 @@ public interface VolunteerService {
      * @return A list of volunteers that match the search criteria.
      */
     List<Volunteer> searchVolunteers(AdvancedSearchQuery query);
+
+    /**
+     * Returns the volunteers matching a query ranked by how many of its skills they hold, best first.
+     *
+     * @param query The AdvancedSearchQuery object containing the search criteria.
+     * @param limit The number of top-ranked volunteers to return.
+     * @return Up to limit volunteers, most matching skills first.
+     * @throws com.cbfacademy.apiassessment.exception.InvalidPageRequestException if the limit is out of range.
+     */
+    List<Volunteer> rankVolunteers(AdvancedSearchQuery query, int limit);
+
+    /**
+     * Looks volunteers up by the start of the words in their names, email or contact number, for type-ahead search.
+     *
+     * @param text The text typed so far; every word must start a word of the volunteer's.
+     * @param limit The maximum number of volunteers to return.
+     * @return Up to limit matching volunteers.
+     * @throws com.cbfacademy.apiassessment.exception.InvalidPageRequestException if the limit is out of range.
+     */
+    List<Volunteer> lookupVolunteers(String text, int limit);
+
+    /**
+     * Explains how an advanced search is evaluated, for tuning slow queries.
+     *
+     * @param query The AdvancedSearchQuery object containing the search criteria.
+     * @return The chosen plan with the estimated and actual rows of each step.
+     */
+    QueryPlan explainSearch(AdvancedSearchQuery query);
+
+    /**
+     * Retrieves one page of volunteers in insertion order, continuing from a cursor returned with the previous page.
+     *
+     * @param cursor The cursor from the previous page, or null for the first page.
+     * @param limit The maximum number of volunteers on the page.
+     * @return The page of volunteers and the cursor for the next page, if any.
+     */
+    VolunteerPage getVolunteerPage(String cursor, int limit);
+
+    /**
+     * Retrieves one page of the volunteers matching an advanced query, continuing from a cursor returned with the
+     * previous page of the same search.
+     *
+     * @param query The AdvancedSearchQuery object containing the search criteria.
+     * @param cursor The cursor from the previous page, or null for the first page.
+     * @param limit The maximum number of volunteers on the page.
+     * @return The page of matching volunteers and the cursor for the next page, if any.
+     */
+    VolunteerPage searchVolunteerPage(AdvancedSearchQuery query, String cursor, int limit);
    
 }
\ No newline at end of file
@@ -1,19 +1,35 @@
 package com.cbfacademy.apiassessment.volunteer;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import com.cbfacademy.apiassessment.exception.InvalidPageRequestException;
+import com.cbfacademy.apiassessment.exception.VolunteerAlreadyExistsException;
 import com.cbfacademy.apiassessment.exception.VolunteerNotFoundException;
 import com.cbfacademy.apiassessment.search.AdvancedSearchQuery;
+import com.cbfacademy.apiassessment.search.QueryPlan;
+import com.cbfacademy.apiassessment.search.SkillMatch;
 
 
 // Marks this class a Spring-managed service component.
 @Service
 public class VolunteerServiceImpl implements VolunteerService {
 
+    // Largest page a client may request, so a single page cannot turn into a full listing.
+    static final int MAX_PAGE_SIZE = 1000;
+
     // Injects the repository dependency injection for data access operations 
     private final VolunteerRepository volunteerRepository;
 
@@ -36,10 +52,15 @@ public class VolunteerServiceImpl implements VolunteerService {
      * @param volunteer the volunteer to be created and saved
      * @return the saved volunteer with persisted data (e.g., generated ID)
      * @throws IllegalArgumentException if any mandatory field of the volunteer is empty
+     * @throws VolunteerAlreadyExistsException if the volunteer carries the ID of an existing volunteer, which
+     *                                         saving would silently replace
      */
     @Override
     public Volunteer createVolunteer (Volunteer volunteer) {
         validateVolunteer(volunteer);
+        if (volunteerRepository.findById(volunteer.getId()).isPresent()) {
+            throw new VolunteerAlreadyExistsException(volunteer.getId());
+        }
         return volunteerRepository.save(volunteer);
     }
 
@@ -65,53 +86,84 @@ public class VolunteerServiceImpl implements VolunteerService {
 
         return volunteerRepository.findById(id)
                 .map(existingVolunteer -> {
-                    // Update first name if provided and not empty.
-                    if (volunteer.getFirstName() != null && !volunteer.getFirstName().trim().isEmpty()) {
-                        existingVolunteer.setFirstName(volunteer.getFirstName());
-                    }
-
-                    // Update last name if provided and not empty.
-                    if (volunteer.getLastName() != null && !volunteer.getLastName().trim().isEmpty()) {
-                        existingVolunteer.setLastName(volunteer.getLastName());
-                    }
-
-                    // Update contact number if provided and not empty.
-                    if (volunteer.getContactNumber() != null && !volunteer.getContactNumber().trim().isEmpty()) {
-                        existingVolunteer.setContactNumber(volunteer.getContactNumber());
-                    }
-
-                    // Update email if provided and not empty.
-                    if (volunteer.getEmail() != null && !volunteer.getEmail().trim().isEmpty()) {
-                        existingVolunteer.setEmail(volunteer.getEmail());
-                    }
-
-                    // Update role if provided and not empty.
-                    if (volunteer.getRole() != null && !volunteer.getRole().trim().isEmpty()) {
-                        existingVolunteer.setRole(volunteer.getRole());
-                    }
-
-                    // Update skills list if provided and not empty.
-                    if (volunteer.getSkills() != null && !volunteer.getSkills().isEmpty()) {
-                        existingVolunteer.setSkills(volunteer.getSkills());
-                    }
-
-                    // Update active status. No null check required for boolean fields.
-                        existingVolunteer.setActive(volunteer.isActive());
-                    
+                    // Merge into a copy: the stored volunteer is shared with concurrent readers and the indexes,
+                    // so it is only replaced once save() holds the repository's locks.
+                    Volunteer updatedVolunteer = merged(existingVolunteer, volunteer);
+
                     // Save and return the updated volunteer entity
-                    return volunteerRepository.save(existingVolunteer);
+                    return volunteerRepository.save(updatedVolunteer);
                 })
                 .orElseThrow(() -> new VolunteerNotFoundException(id));
     }
 
 
     /**
-    * Validates the mandatory fields of a volunteer.
+     * Returns a copy of an existing volunteer with an update merged into it, leaving the existing volunteer as it was.
+     * Shared with the reactive service.
+     *
+     * @param existingVolunteer the stored volunteer
+     * @param volunteer the updated information
+     * @return a new volunteer with the same id and the merged fields
+     */
+    static Volunteer merged(Volunteer existingVolunteer, Volunteer volunteer) {
+        Volunteer copy = new Volunteer(existingVolunteer.getId(), existingVolunteer.getFirstName(), existingVolunteer.getLastName(),
+                existingVolunteer.getContactNumber(), existingVolunteer.getEmail(), existingVolunteer.getRole(),
+                existingVolunteer.getSkills(), existingVolunteer.isActive());
+        mergeUpdate(copy, volunteer);
+        return copy;
+    }
+
+    /**
+     * Copies the non-null and non-empty fields of an update onto an existing volunteer.
+     * The 'isActive' status is always copied as it is a boolean field that does not require null checks.
+     *
+     * @param existingVolunteer the volunteer to update
+     * @param volunteer the updated information
+     */
+    private static void mergeUpdate(Volunteer existingVolunteer, Volunteer volunteer) {
+        // Update first name if provided and not empty.
+        if (volunteer.getFirstName() != null && !volunteer.getFirstName().trim().isEmpty()) {
+            existingVolunteer.setFirstName(volunteer.getFirstName());
+        }
+
+        // Update last name if provided and not empty.
+        if (volunteer.getLastName() != null && !volunteer.getLastName().trim().isEmpty()) {
+            existingVolunteer.setLastName(volunteer.getLastName());
+        }
+
+        // Update contact number if provided and not empty.
+        if (volunteer.getContactNumber() != null && !volunteer.getContactNumber().trim().isEmpty()) {
+            existingVolunteer.setContactNumber(volunteer.getContactNumber());
+        }
+
+        // Update email if provided and not empty.
+        if (volunteer.getEmail() != null && !volunteer.getEmail().trim().isEmpty()) {
+            existingVolunteer.setEmail(volunteer.getEmail());
+        }
+
+        // Update role if provided and not empty.
+        if (volunteer.getRole() != null && !volunteer.getRole().trim().isEmpty()) {
+            existingVolunteer.setRole(volunteer.getRole());
+        }
+
+        // Update skills list if provided and not empty.
+        if (volunteer.getSkills() != null && !volunteer.getSkills().isEmpty()) {
+            existingVolunteer.setSkills(volunteer.getSkills());
+        }
+
+        // Update active status. No null check required for boolean fields.
+        existingVolunteer.setActive(volunteer.isActive());
+    }
+
+
+    /**
+    * Validates the mandatory fields of a volunteer. Package-private so the benchmarks can measure it directly and
+    * the reactive service applies the same rules.
     *
     * @param volunteer the volunteer to validate.
     * @throws IllegalArgumentException if any mandatory field is empty.
     */
-    private void validateVolunteer(Volunteer volunteer) {
+    static void validateVolunteer(Volunteer volunteer) {
         if (volunteer.getFirstName() == null || volunteer.getFirstName().trim().isEmpty()) {
             throw new IllegalArgumentException("First name is required.");
         }
@@ -142,6 +194,42 @@ public class VolunteerServiceImpl implements VolunteerService {
     }
 
 
+    /**
+     * Passes every volunteer to the given action, one at a time, straight from the repository.
+     *
+     * @param action the action to run for each volunteer
+     */
+    @Override
+    public void forEachVolunteer(Consumer<? super Volunteer> action) {
+        volunteerRepository.forEachVolunteer(action);
+    }
+
+
+    /**
+     * Returns the repository's data version as a tag.
+     *
+     * @return the current data version tag
+     */
+    @Override
+    public String getVersionTag() {
+        return Long.toHexString(volunteerRepository.getVersion());
+    }
+
+
+    /**
+     * Returns the version at which a volunteer was last changed as a tag.
+     *
+     * @param id the UUID of the volunteer
+     * @return the volunteer's version tag
+     * @throws VolunteerNotFoundException if no volunteer is found with the specified UUID
+     */
+    @Override
+    public String getVersionTag(UUID id) {
+        return Long.toHexString(volunteerRepository.findVersion(id)
+                .orElseThrow(() -> new VolunteerNotFoundException(id)));
+    }
+
+
     /**
      * Fetches a single volunteer by their UUID.
      *
@@ -171,39 +259,308 @@ public class VolunteerServiceImpl implements VolunteerService {
     /**
      * Searches for volunteers based on an advanced query that includes active status, skills, and role.
      * <p>
-     * This method retrieves all volunteers and filters them based on the provided criteria in the {@link AdvancedSearchQuery} object.
-     * The filtering process considers the volunteer's active status, their skills, and optionally their role if it is specified in the query.
+     * The search is delegated to the repository, which intersects its active-status, role and skill indexes and
+     * only materializes the volunteers that match, rather than filtering every volunteer.
+     * </p>
+     *
+     * <p>
+     * A {@link SkillMatch#RANKED} query returns every match, most matching skills first. It is rejected rather than
+     * cut short when more than {@link #MAX_PAGE_SIZE} volunteers match; ask for the best few with
+     * {@link #rankVolunteers(AdvancedSearchQuery, int)} instead.
      * </p>
      *
      * @param query the advanced search criteria including active status, skills list, and optionally the role
      * @return a list of volunteers matching the search criteria
+     * @throws InvalidPageRequestException if the query is ranked and more than {@link #MAX_PAGE_SIZE} volunteers match
      */
     @Override
     public List<Volunteer> searchVolunteers(AdvancedSearchQuery query) {
-        List<Volunteer> allVolunteers = volunteerRepository.findAll();
-        
-        return allVolunteers.stream()
-                // Filter by active status
-                .filter(volunteer -> volunteer.isActive() == query.isActive())
-                // Filter by matching skills, if skills are specified in the query
-                .filter(volunteer -> matchesSkills(volunteer, query.getSkills()))
-                // Filter by role, if a role is specified in the query
-                .filter(volunteer -> query.getRole() == null || volunteer.getRole().equals(query.getRole()))
-                .collect(Collectors.toList()); // Collect and return the list of matching volunteers
+        if (query.getSkillMatch() == SkillMatch.RANKED) {
+            return rankedAll(volunteerRepository.search(query), query.getSkills());
+        }
+        return volunteerRepository.search(query);
+    }
+
+
+    /**
+     * Returns the volunteers matching a query that hold the most of its skills.
+     * <p>
+     * The matches come from the repository (and its search cache) in insertion order. Each is scored by the number
+     * of the query's skills it holds, and only the best {@code limit} are kept in a bounded heap, so ranking costs
+     * O(n log k) rather than sorting every match.
+     * </p>
+     *
+     * @param query the advanced search criteria
+     * @param limit the number of volunteers to return
+     * @return up to limit volunteers, most matching skills first, ties in insertion order
+     * @throws InvalidPageRequestException if the limit is not between 1 and {@link #MAX_PAGE_SIZE}
+     */
+    @Override
+    public List<Volunteer> rankVolunteers(AdvancedSearchQuery query, int limit) {
+        validatePageLimit(limit);
+        return topRanked(volunteerRepository.search(query), query.getSkills(), limit);
     }
 
+
     /**
-     * Checks if a volunteer has any if the required skills.
+     * Orders every match of a ranked query by the number of the given skills it holds. Shared with the reactive
+     * service.
      *
-     * @param volunteer the volunteer to check
-     * @param requiredSkills the list of skills to match against the volunteer's skills
-     * @return true if the volunteer has any of the required skills, otherwise false
-    */
-    private boolean matchesSkills(Volunteer volunteer, List<String> requiredSkills) {
-        if (requiredSkills == null || requiredSkills.isEmpty()) {
-            return true;
+     * @param matches the volunteers matching the query, in insertion order
+     * @param skills  the query's skills
+     * @return all of the matches, most matching skills first, ties in insertion order
+     * @throws InvalidPageRequestException if there are more than {@link #MAX_PAGE_SIZE} matches, which would
+     *                                     otherwise be truncated without the caller knowing
+     */
+    static List<Volunteer> rankedAll(List<Volunteer> matches, Collection<String> skills) {
+        if (matches.size() > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("Ranked search matched " + matches.size() + " volunteers, more than "
+                    + MAX_PAGE_SIZE + "; pass a limit to get only the best matches.");
+        }
+        return topRanked(matches, skills, MAX_PAGE_SIZE);
+    }
+
+
+    /**
+     * Selects the volunteers holding the most of the given skills, using a heap of at most k entries. Shared with
+     * the reactive service.
+     *
+     * @param matches the candidates, in insertion order
+     * @param skills the skills to score by
+     * @param k the number of volunteers to return
+     * @return up to k volunteers, highest score first, ties in the order of matches
+     */
+    static List<Volunteer> topRanked(List<Volunteer> matches, Collection<String> skills, int k) {
+        Set<String> wanted = skills == null ? new HashSet<>() : new HashSet<>(skills);
+        wanted.remove(null); // A null skill never scores
+        // Ordered worst first: lowest score, then latest position, so the heap's head is the one to drop.
+        Comparator<Ranked> worstFirst = Comparator.comparingInt(Ranked::score)
+                .thenComparing(Comparator.comparingInt(Ranked::position).reversed());
+        PriorityQueue<Ranked> best = new PriorityQueue<>(Math.min(k, matches.size()) + 1, worstFirst);
+        for (int position = 0; position < matches.size(); position++) {
+            Volunteer volunteer = matches.get(position);
+            int score = score(volunteer, wanted);
+            if (best.size() < k) {
+                best.add(new Ranked(volunteer, score, position));
+            } else if (score > best.peek().score()) {
+                // An equal score never displaces an earlier volunteer, keeping ties in insertion order.
+                best.poll();
+                best.add(new Ranked(volunteer, score, position));
+            }
+        }
+        List<Ranked> ranked = new ArrayList<>(best);
+        ranked.sort(worstFirst.reversed());
+        List<Volunteer> volunteers = new ArrayList<>(ranked.size());
+        for (Ranked entry : ranked) {
+            volunteers.add(entry.volunteer());
+        }
+        return volunteers;
+    }
+
+    // Counts the distinct wanted skills a volunteer holds.
+    private static int score(Volunteer volunteer, Set<String> wanted) {
+        List<String> skills = volunteer.getSkills();
+        if (skills == null) {
+            return 0;
+        }
+        int score = 0;
+        for (int i = 0; i < skills.size(); i++) {
+            String skill = skills.get(i);
+            if (wanted.contains(skill) && skills.indexOf(skill) == i) {
+                score++;
+            }
+        }
+        return score;
+    }
+
+    // A candidate with its score and position among the matches.
+    private record Ranked(Volunteer volunteer, int score, int position) {
+    }
+
+
+    /**
+     * Looks volunteers up by name, email or contact number prefix using the repository's prefix index.
+     *
+     * @param text the text typed so far
+     * @param limit the maximum number of volunteers to return
+     * @return up to limit matching volunteers in insertion order
+     * @throws InvalidPageRequestException if the limit is not between 1 and {@link #MAX_PAGE_SIZE}
+     */
+    @Override
+    public List<Volunteer> lookupVolunteers(String text, int limit) {
+        validatePageLimit(limit);
+        return volunteerRepository.lookup(text, limit);
+    }
+
+
+    /**
+     * Explains an advanced search by having the repository plan and run it outside the search cache.
+     *
+     * @param query the advanced search criteria
+     * @return the plan with the estimated and actual rows of each step
+     */
+    @Override
+    public QueryPlan explainSearch(AdvancedSearchQuery query) {
+        return volunteerRepository.explain(query);
+    }
+
+
+    /**
+     * Validates and applies a batch of creates, updates and deletes.
+     * <p>
+     * Each operation is checked the same way as the equivalent single request, taking the earlier operations in the
+     * batch into account, so a volunteer created by the batch can be updated or deleted later in it. Rejected
+     * operations are reported and skipped; the accepted ones are handed to the repository together, which applies
+     * them as one change and persists them once.
+     * </p>
+     *
+     * @param operations the operations to apply, in order
+     * @return one result per operation, in the same order
+     * @throws java.io.UncheckedIOException if the accepted operations could not be written to disk, in which case
+     *                                      none of the results are reported as applied
+     */
+    @Override
+    public List<BatchResult> applyBatch(List<BatchOperation> operations) {
+        List<BatchResult> results = new ArrayList<>(operations.size());
+        List<BatchOperation> accepted = new ArrayList<>(operations.size());
+        // State of the volunteers changed earlier in the batch; a null value marks a deleted volunteer.
+        Map<UUID, Volunteer> staged = new HashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            try {
+                results.add(stageOperation(i, operation, staged, accepted));
+            } catch (IllegalArgumentException e) {
+                results.add(new BatchResult(i, operation.getOp(), operation.getId(), HttpStatus.BAD_REQUEST, e.getMessage(), null));
+            } catch (VolunteerNotFoundException e) {
+                results.add(new BatchResult(i, operation.getOp(), operation.getId(), HttpStatus.NOT_FOUND, e.getMessage(), null));
+            } catch (VolunteerAlreadyExistsException e) {
+                results.add(new BatchResult(i, operation.getOp(), operation.getId(), HttpStatus.CONFLICT, e.getMessage(), null));
+            }
+        }
+        volunteerRepository.applyBatch(accepted);
+        return results;
+    }
+
+
+    /**
+     * Validates one batch operation and, if it is valid, adds the change to make to the accepted list.
+     *
+     * @param index the position of the operation in the batch
+     * @param operation the operation to validate
+     * @param staged the volunteers changed earlier in the batch, updated with this operation
+     * @param accepted the changes to apply, added to if the operation is valid
+     * @return the successful result of the operation
+     * @throws IllegalArgumentException if the operation is incomplete or the volunteer is invalid
+     * @throws VolunteerNotFoundException if the volunteer to update or delete does not exist
+     * @throws VolunteerAlreadyExistsException if the volunteer to create has the ID of an existing one
+     */
+    private BatchResult stageOperation(int index, BatchOperation operation, Map<UUID, Volunteer> staged, List<BatchOperation> accepted) {
+        if (operation.getOp() == null) {
+            throw new IllegalArgumentException("Operation type is required.");
+        }
+        switch (operation.getOp()) {
+            case CREATE: {
+                Volunteer volunteer = requireVolunteer(operation);
+                validateVolunteer(volunteer);
+                if (existsStaged(volunteer.getId(), staged)) {
+                    throw new VolunteerAlreadyExistsException(volunteer.getId());
+                }
+                staged.put(volunteer.getId(), volunteer);
+                accepted.add(new BatchOperation(BatchOperation.Type.CREATE, volunteer.getId(), volunteer));
+                return new BatchResult(index, operation.getOp(), volunteer.getId(), HttpStatus.CREATED, null, volunteer);
+            }
+            case UPDATE: {
+                Volunteer volunteer = requireVolunteer(operation);
+                validateVolunteer(volunteer);
+                // Staged as a copy: the stored volunteer must not change until the repository applies the batch.
+                Volunteer updatedVolunteer = merged(findStaged(operation.getId(), staged), volunteer);
+                staged.put(updatedVolunteer.getId(), updatedVolunteer);
+                accepted.add(new BatchOperation(BatchOperation.Type.UPDATE, updatedVolunteer.getId(), updatedVolunteer));
+                return new BatchResult(index, operation.getOp(), updatedVolunteer.getId(), HttpStatus.OK, null, updatedVolunteer);
+            }
+            default: {
+                Volunteer existingVolunteer = findStaged(operation.getId(), staged);
+                staged.put(existingVolunteer.getId(), null);
+                accepted.add(new BatchOperation(BatchOperation.Type.DELETE, existingVolunteer.getId(), null));
+                return new BatchResult(index, operation.getOp(), existingVolunteer.getId(), HttpStatus.NO_CONTENT, null, null);
+            }
+        }
+    }
+
+
+    // Returns the volunteer carried by a create or update, which both require one.
+    private Volunteer requireVolunteer(BatchOperation operation) {
+        if (operation.getVolunteer() == null) {
+            throw new IllegalArgumentException("Volunteer is required.");
+        }
+        return operation.getVolunteer();
+    }
+
+
+    // Returns whether a volunteer exists once the earlier operations in a batch are applied.
+    private boolean existsStaged(UUID id, Map<UUID, Volunteer> staged) {
+        return staged.containsKey(id) ? staged.get(id) != null : volunteerRepository.findById(id).isPresent();
+    }
+
+
+    // Finds a volunteer as it stands after the earlier operations in a batch.
+    private Volunteer findStaged(UUID id, Map<UUID, Volunteer> staged) {
+        if (id == null) {
+            throw new IllegalArgumentException("Volunteer ID is required.");
+        }
+        Volunteer volunteer = staged.containsKey(id) ? staged.get(id) : volunteerRepository.findById(id).orElse(null);
+        if (volunteer == null) {
+            throw new VolunteerNotFoundException(id);
+        }
+        return volunteer;
+    }
+
+
+    /**
+     * Retrieves one page of volunteers, continuing from the given cursor.
+     *
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @param limit the maximum number of volunteers on the page
+     * @return the page and the cursor for the next page, if any
+     * @throws InvalidPageRequestException if the limit is out of range or the cursor is invalid
+     */
+    @Override
+    public VolunteerPage getVolunteerPage(String cursor, int limit) {
+        validatePageLimit(limit);
+        return volunteerRepository.findPage(cursor, limit);
+    }
+
+
+    /**
+     * Retrieves one page of the volunteers matching an advanced query, continuing from the given cursor.
+     *
+     * @param query the advanced search criteria
+     * @param cursor the cursor from the previous page of the same search, or null for the first page
+     * @param limit the maximum number of volunteers on the page
+     * @return the page and the cursor for the next page, if any
+     * @throws InvalidPageRequestException if the limit is out of range or the cursor is invalid, or if the query is
+     *         ranked, since ranked results are returned as a single page of the best matches
+     */
+    @Override
+    public VolunteerPage searchVolunteerPage(AdvancedSearchQuery query, String cursor, int limit) {
+        validatePageLimit(limit);
+        if (query.getSkillMatch() == SkillMatch.RANKED) {
+            throw new InvalidPageRequestException("Ranked searches return only the top results and cannot be paged.");
+        }
+        return volunteerRepository.searchPage(query, cursor, limit);
+    }
+
+
+    /**
+     * Validates a requested page size.
+     *
+     * @param limit the requested page size
+     * @throws InvalidPageRequestException if the limit is not between 1 and {@link #MAX_PAGE_SIZE}
+     */
+    private void validatePageLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("Page limit must be between 1 and " + MAX_PAGE_SIZE + ".");
         }
-        return requiredSkills.stream().anyMatch(skill -> volunteer.getSkills().contains(skill));
     }
 
     
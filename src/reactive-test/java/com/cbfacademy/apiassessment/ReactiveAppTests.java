@@ -0,0 +1,66 @@
+package com.cbfacademy.apiassessment;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Description;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.cbfacademy.apiassessment.volunteer.Volunteer;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = ChurchManagementApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+class ReactiveAppTests {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Test
+	@Description("the reactive profile serves /api/volunteers as a JSON array")
+	public void volunteers_ReturnsJsonArray() {
+		List<Volunteer> volunteers = webTestClient.get().uri("/api/volunteers")
+				.accept(MediaType.APPLICATION_JSON)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBodyList(Volunteer.class)
+				.returnResult().getResponseBody();
+
+		assertTrue(volunteers != null && !volunteers.isEmpty());
+	}
+
+	@Test
+	@Description("the reactive profile streams /api/volunteers as NDJSON")
+	public void volunteers_StreamsNdjson() {
+		long streamed = webTestClient.get().uri("/api/volunteers")
+				.accept(MediaType.APPLICATION_NDJSON)
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(Volunteer.class)
+				.getResponseBody().count().block();
+		int listed = webTestClient.get().uri("/api/volunteers")
+				.exchange()
+				.expectBodyList(Volunteer.class)
+				.returnResult().getResponseBody().size();
+
+		assertEquals(listed, streamed);
+	}
+
+	@Test
+	@Description("the reactive profile answers an unknown volunteer with 404")
+	public void volunteerById_UnknownIdIsNotFound() {
+		webTestClient.get().uri("/api/volunteers/{id}", UUID.randomUUID())
+				.exchange()
+				.expectStatus().isNotFound();
+	}
+
+}
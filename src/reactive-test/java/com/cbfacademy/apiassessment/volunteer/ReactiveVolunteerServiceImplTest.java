@@ -0,0 +1,153 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.cbfacademy.apiassessment.exception.VolunteerAlreadyExistsException;
+import com.cbfacademy.apiassessment.exception.VolunteerNotFoundException;
+import com.cbfacademy.apiassessment.search.AdvancedSearchQuery;
+
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for ReactiveVolunteerServiceImpl, run over a JsonReactiveVolunteerRepository wrapping a mocked
+ * blocking repository so the adapter is exercised too.
+ */
+public class ReactiveVolunteerServiceImplTest {
+
+    @Mock
+    private VolunteerRepository volunteerRepository;
+
+    private AutoCloseable closeable;
+
+    private ReactiveVolunteerServiceImpl volunteerService;
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+        volunteerService = new ReactiveVolunteerServiceImpl(
+                new JsonReactiveVolunteerRepository(volunteerRepository, Schedulers.immediate()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    public void testCreateVolunteer_Success() {
+        Volunteer volunteer = volunteer("David", "Bookkeeper");
+        when(volunteerRepository.save(volunteer)).thenReturn(volunteer);
+
+        StepVerifier.create(volunteerService.createVolunteer(volunteer))
+                .expectNext(volunteer)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testCreateVolunteer_InvalidIsNotSaved() {
+        Volunteer volunteer = volunteer("", "Bookkeeper");
+
+        StepVerifier.create(volunteerService.createVolunteer(volunteer))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verify(volunteerRepository, never()).save(any());
+    }
+
+    @Test
+    public void testCreateVolunteer_ExistingIdIsNotSaved() {
+        Volunteer stored = volunteer("David", "Bookkeeper");
+        Volunteer duplicate = new Volunteer(stored.getId(), "Luke", "Branch", "07756888373", "lukeb@aol.com", "Greeter", Arrays.asList("Welcoming"), true);
+        when(volunteerRepository.findById(stored.getId())).thenReturn(Optional.of(stored));
+
+        StepVerifier.create(volunteerService.createVolunteer(duplicate))
+                .expectError(VolunteerAlreadyExistsException.class)
+                .verify();
+        verify(volunteerRepository, never()).save(any());
+    }
+
+    @Test
+    public void testGetVolunteerById_NotFound() {
+        UUID id = UUID.randomUUID();
+        when(volunteerRepository.findById(id)).thenReturn(Optional.empty());
+
+        StepVerifier.create(volunteerService.getVolunteerById(id))
+                .expectError(VolunteerNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    public void testUpdateVolunteer_MergesNonEmptyFields() {
+        Volunteer existing = volunteer("David", "Bookkeeper");
+        Volunteer update = volunteer("Dave", "Usher");
+        when(volunteerRepository.findById(existing.getId())).thenReturn(Optional.of(existing));
+        when(volunteerRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(volunteerService.updateVolunteer(existing.getId(), update))
+                .assertNext(saved -> {
+                    assertNotSame(existing, saved);
+                    assertEquals(existing.getId(), saved.getId());
+                    assertEquals("Dave", saved.getFirstName());
+                    assertEquals("Usher", saved.getRole());
+                    assertEquals("judahdavid@gmail.com", saved.getEmail());
+                })
+                .verifyComplete();
+        assertEquals("David", existing.getFirstName());
+        assertEquals("Bookkeeper", existing.getRole());
+    }
+
+    @Test
+    public void testDeleteVolunteer_DeletesExisting() {
+        Volunteer existing = volunteer("David", "Bookkeeper");
+        when(volunteerRepository.findById(existing.getId())).thenReturn(Optional.of(existing));
+
+        StepVerifier.create(volunteerService.deleteVolunteer(existing.getId()))
+                .verifyComplete();
+        verify(volunteerRepository).delete(existing);
+    }
+
+    @Test
+    public void testDeleteVolunteer_NotFound() {
+        UUID id = UUID.randomUUID();
+        when(volunteerRepository.findById(id)).thenReturn(Optional.empty());
+
+        StepVerifier.create(volunteerService.deleteVolunteer(id))
+                .expectError(VolunteerNotFoundException.class)
+                .verify();
+        verify(volunteerRepository, never()).delete(any());
+    }
+
+    @Test
+    public void testSearchVolunteers_EmitsMatches() {
+        AdvancedSearchQuery query = new AdvancedSearchQuery(List.of("Accuracy"), true, "Bookkeeper");
+        Volunteer first = volunteer("David", "Bookkeeper");
+        Volunteer second = volunteer("Ruth", "Bookkeeper");
+        when(volunteerRepository.search(query)).thenReturn(List.of(first, second));
+
+        StepVerifier.create(volunteerService.searchVolunteers(query))
+                .expectNext(first, second)
+                .verifyComplete();
+    }
+
+    private static Volunteer volunteer(String firstName, String role) {
+        return new Volunteer(UUID.randomUUID(), firstName, "Judah", "07777777333", "judahdavid@gmail.com", role,
+                Arrays.asList("Numerical skills", "Accuracy"), true);
+    }
+
+}
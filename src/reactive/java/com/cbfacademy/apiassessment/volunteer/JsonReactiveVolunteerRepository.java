@@ -0,0 +1,80 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Repository;
+
+import com.cbfacademy.apiassessment.search.AdvancedSearchQuery;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive view of the {@link JsonVolunteerRepository}, used by the reactive API.
+ * <p>
+ * Reads are answered from the repository's in-memory rows and indexes, which take a read lock for at most the time
+ * of a copy, so they run on the subscribing thread. Saves and deletes persist to disk before returning, so they
+ * are moved to the bounded elastic scheduler and the event loop never waits for a file write or a group commit.
+ * </p>
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class JsonReactiveVolunteerRepository implements ReactiveVolunteerRepository {
+
+    // Blocking repository holding the data.
+    private final VolunteerRepository volunteerRepository;
+
+    // Scheduler for operations that wait on the disk.
+    private final Scheduler ioScheduler;
+
+    /**
+     * Constructs the reactive repository over the blocking one.
+     *
+     * @param volunteerRepository the repository holding the data
+     */
+    @Autowired
+    public JsonReactiveVolunteerRepository(VolunteerRepository volunteerRepository) {
+        this(volunteerRepository, Schedulers.boundedElastic());
+    }
+
+    /**
+     * Constructs the reactive repository with the scheduler to run disk writes on.
+     *
+     * @param volunteerRepository the repository holding the data
+     * @param ioScheduler the scheduler for saves and deletes
+     */
+    JsonReactiveVolunteerRepository(VolunteerRepository volunteerRepository, Scheduler ioScheduler) {
+        this.volunteerRepository = volunteerRepository;
+        this.ioScheduler = ioScheduler;
+    }
+
+    @Override
+    public Mono<Volunteer> save(Volunteer volunteer) {
+        return Mono.fromCallable(() -> volunteerRepository.save(volunteer)).subscribeOn(ioScheduler);
+    }
+
+    @Override
+    public Mono<Volunteer> findById(UUID id) {
+        return Mono.fromCallable(() -> volunteerRepository.findById(id).orElse(null));
+    }
+
+    @Override
+    public Flux<Volunteer> findAll() {
+        return Flux.defer(() -> Flux.fromIterable(volunteerRepository.findAll()));
+    }
+
+    @Override
+    public Mono<Void> delete(Volunteer volunteer) {
+        return Mono.fromRunnable(() -> volunteerRepository.delete(volunteer)).subscribeOn(ioScheduler).then();
+    }
+
+    @Override
+    public Flux<Volunteer> search(AdvancedSearchQuery query) {
+        return Flux.defer(() -> Flux.fromIterable(volunteerRepository.search(query)));
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.cbfacademy.apiassessment.search.AdvancedSearchQuery;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+/**
+ * Handles volunteer requests on WebFlux, with the same routes as {@link VolunteerController}. Active instead of it
+ * when the application runs as a reactive web application (the {@code reactive} profile).
+ */
+@RestController
+@RequestMapping("/api/volunteers")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveVolunteerController {
+
+    private final ReactiveVolunteerService volunteerService;
+
+    /**
+     * Constructs the controller.
+     *
+     * @param volunteerService the reactive volunteer service
+     */
+    public ReactiveVolunteerController(ReactiveVolunteerService volunteerService) {
+        this.volunteerService = volunteerService;
+    }
+
+    /**
+     * Creates a new volunteer.
+     *
+     * @param volunteer the volunteer to create
+     * @return the created volunteer with a 201 Created status
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Volunteer> createVolunteer(@RequestBody Volunteer volunteer) {
+        return volunteerService.createVolunteer(volunteer);
+    }
+
+    /**
+     * Retrieves all volunteers, as a JSON array or, with {@code Accept: application/x-ndjson}, as a stream of
+     * newline-delimited JSON written as the volunteers are emitted.
+     *
+     * @return the volunteers with a 200 OK status
+     */
+    @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<Volunteer> getAllVolunteers() {
+        return volunteerService.getAllVolunteers();
+    }
+
+    /**
+     * Retrieves a volunteer by their ID.
+     *
+     * @param id the UUID of the volunteer to retrieve
+     * @return the requested volunteer with a 200 OK status
+     */
+    @GetMapping("/{id}")
+    public Mono<Volunteer> getVolunteerById(@PathVariable UUID id) {
+        return volunteerService.getVolunteerById(id);
+    }
+
+    /**
+     * Updates an existing volunteer.
+     *
+     * @param id the UUID of the volunteer to update
+     * @param volunteerUpdate the updated volunteer information
+     * @return the updated volunteer with a 200 OK status
+     */
+    @PutMapping("/{id}")
+    public Mono<Volunteer> updateVolunteer(@PathVariable UUID id, @RequestBody Volunteer volunteerUpdate) {
+        return volunteerService.updateVolunteer(id, volunteerUpdate);
+    }
+
+    /**
+     * Deletes a volunteer by their ID.
+     *
+     * @param id the UUID of the volunteer to delete
+     * @return a 204 No Content status on successful deletion
+     */
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteVolunteer(@PathVariable UUID id) {
+        return volunteerService.deleteVolunteer(id);
+    }
+
+    /**
+     * Searches for volunteers based on provided criteria such as skills, active status and role.
+     *
+     * @param query The search criteria encapsulated in an AdvancedSearchQuery object.
+     * @return The volunteers that match the search criteria.
+     */
+    @GetMapping(path = "/search", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<Volunteer> searchVolunteers(@ModelAttribute AdvancedSearchQuery query) {
+        return volunteerService.searchVolunteers(query);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import java.util.UUID;
+
+import com.cbfacademy.apiassessment.search.AdvancedSearchQuery;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to volunteer data for the reactive API. Implementations must never block the subscribing
+ * thread, which is usually an event-loop thread: anything that waits on the disk runs on another scheduler.
+ */
+public interface ReactiveVolunteerRepository {
+
+    /**
+     * Saves a volunteer, adding it or replacing the volunteer with the same ID.
+     *
+     * @param volunteer the volunteer to save
+     * @return the saved volunteer, emitted once it has been persisted
+     */
+    Mono<Volunteer> save(Volunteer volunteer);
+
+
+    /**
+     * Finds a volunteer by their ID.
+     *
+     * @param id the UUID of the volunteer
+     * @return the volunteer, or an empty Mono if none has the ID
+     */
+    Mono<Volunteer> findById(UUID id);
+
+
+    /**
+     * Emits all volunteers in insertion order.
+     *
+     * @return the volunteers
+     */
+    Flux<Volunteer> findAll();
+
+
+    /**
+     * Deletes a volunteer.
+     *
+     * @param volunteer the volunteer to delete
+     * @return a Mono completing once the deletion has been persisted
+     */
+    Mono<Void> delete(Volunteer volunteer);
+
+
+    /**
+     * Emits the volunteers matching an advanced query.
+     *
+     * @param query the search criteria
+     * @return the matching volunteers
+     */
+    Flux<Volunteer> search(AdvancedSearchQuery query);
+
+}
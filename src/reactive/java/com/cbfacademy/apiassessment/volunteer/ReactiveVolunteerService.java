@@ -0,0 +1,63 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import java.util.UUID;
+
+import com.cbfacademy.apiassessment.search.AdvancedSearchQuery;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link VolunteerService}, applying the same rules without blocking the caller.
+ */
+public interface ReactiveVolunteerService {
+
+    /**
+     * Creates a new volunteer in the system after validating it.
+     *
+     * @param volunteer The volunteer object containing all necessary information for creation.
+     * @return The created volunteer, or an IllegalArgumentException error if a mandatory field is missing.
+     */
+    Mono<Volunteer> createVolunteer(Volunteer volunteer);
+
+    /**
+     * Retrieves all volunteers in the system.
+     *
+     * @return The volunteers, in insertion order.
+     */
+    Flux<Volunteer> getAllVolunteers();
+
+    /**
+     * Retrieves a volunteer by their unique identifier.
+     *
+     * @param id The unique identifier of the volunteer to retrieve.
+     * @return The volunteer, or a VolunteerNotFoundException error if no such volunteer exists.
+     */
+    Mono<Volunteer> getVolunteerById(UUID id);
+
+    /**
+     * Updates an existing volunteer's information.
+     *
+     * @param id The unique identifier of the volunteer to be updated.
+     * @param volunteer The volunteer object containing updated information.
+     * @return The updated volunteer, or a VolunteerNotFoundException error if no such volunteer exists.
+     */
+    Mono<Volunteer> updateVolunteer(UUID id, Volunteer volunteer);
+
+    /**
+     * Deletes a volunteer from the system.
+     *
+     * @param id The unique identifier of the volunteer to be deleted.
+     * @return A Mono completing once the volunteer is deleted, or a VolunteerNotFoundException error.
+     */
+    Mono<Void> deleteVolunteer(UUID id);
+
+    /**
+     * Searches for volunteers based on a set of criteria encapsulated in an AdvancedSearchQuery object.
+     *
+     * @param query The AdvancedSearchQuery object containing the search criteria.
+     * @return The volunteers that match the search criteria.
+     */
+    Flux<Volunteer> searchVolunteers(AdvancedSearchQuery query);
+
+}
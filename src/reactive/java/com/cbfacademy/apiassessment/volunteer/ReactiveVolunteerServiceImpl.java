@@ -0,0 +1,117 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import java.util.UUID;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+
+import com.cbfacademy.apiassessment.exception.VolunteerAlreadyExistsException;
+import com.cbfacademy.apiassessment.exception.VolunteerNotFoundException;
+import com.cbfacademy.apiassessment.search.AdvancedSearchQuery;
+import com.cbfacademy.apiassessment.search.SkillMatch;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+// Marks this class a Spring-managed service component, created only when the application runs on WebFlux.
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveVolunteerServiceImpl implements ReactiveVolunteerService {
+
+    // Reactive repository for data access operations.
+    private final ReactiveVolunteerRepository volunteerRepository;
+
+
+    /**
+     * Constructs a ReactiveVolunteerServiceImpl with a specified ReactiveVolunteerRepository.
+     *
+     * @param volunteerRepository the repository used for volunteer data operations
+     */
+    public ReactiveVolunteerServiceImpl(ReactiveVolunteerRepository volunteerRepository) {
+        this.volunteerRepository = volunteerRepository;
+    }
+
+    /**
+     * Validates and saves a new volunteer. Validation uses the same rules as {@link VolunteerServiceImpl}.
+     *
+     * @param volunteer the volunteer to be created and saved
+     * @return the saved volunteer, an IllegalArgumentException error if any mandatory field is empty, or a
+     *         VolunteerAlreadyExistsException error if the volunteer carries the ID of an existing one
+     */
+    @Override
+    public Mono<Volunteer> createVolunteer(Volunteer volunteer) {
+        return Mono.fromRunnable(() -> VolunteerServiceImpl.validateVolunteer(volunteer))
+                .then(volunteerRepository.findById(volunteer.getId()).hasElement())
+                .flatMap(exists -> exists
+                        ? Mono.<Volunteer>error(new VolunteerAlreadyExistsException(volunteer.getId()))
+                        : volunteerRepository.save(volunteer));
+    }
+
+    /**
+     * Retrieves all volunteers from the repository.
+     *
+     * @return the volunteers
+     */
+    @Override
+    public Flux<Volunteer> getAllVolunteers() {
+        return volunteerRepository.findAll();
+    }
+
+    /**
+     * Fetches a single volunteer by their UUID.
+     *
+     * @param id the UUID of the volunteer to retrieve
+     * @return the found volunteer, or a VolunteerNotFoundException error
+     */
+    @Override
+    public Mono<Volunteer> getVolunteerById(UUID id) {
+        return volunteerRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new VolunteerNotFoundException(id)));
+    }
+
+    /**
+     * Validates an update, copies its non-empty fields onto the existing volunteer and saves it, as
+     * {@link VolunteerServiceImpl#updateVolunteer(UUID, Volunteer)} does.
+     *
+     * @param id the UUID of the volunteer to update
+     * @param volunteer the volunteer object containing updated information
+     * @return the updated volunteer, or an IllegalArgumentException or VolunteerNotFoundException error
+     */
+    @Override
+    public Mono<Volunteer> updateVolunteer(UUID id, Volunteer volunteer) {
+        return Mono.fromRunnable(() -> VolunteerServiceImpl.validateVolunteer(volunteer))
+                .then(getVolunteerById(id))
+                .flatMap(existingVolunteer -> volunteerRepository.save(VolunteerServiceImpl.merged(existingVolunteer, volunteer)));
+    }
+
+    /**
+     * Deletes a volunteer identified by their UUID.
+     *
+     * @param id the UUID of the volunteer to delete
+     * @return a Mono completing once the volunteer is deleted, or a VolunteerNotFoundException error
+     */
+    @Override
+    public Mono<Void> deleteVolunteer(UUID id) {
+        return getVolunteerById(id).flatMap(volunteerRepository::delete);
+    }
+
+    /**
+     * Searches for volunteers matching an advanced query, answered from the repository's indexes. A ranked query
+     * emits every match, most matching skills first, and fails with an
+     * {@link com.cbfacademy.apiassessment.exception.InvalidPageRequestException} rather than truncating when more
+     * than {@link VolunteerServiceImpl#MAX_PAGE_SIZE} volunteers match.
+     *
+     * @param query the advanced search criteria
+     * @return the matching volunteers
+     */
+    @Override
+    public Flux<Volunteer> searchVolunteers(AdvancedSearchQuery query) {
+        if (query.getSkillMatch() == SkillMatch.RANKED) {
+            return volunteerRepository.search(query).collectList()
+                    .flatMapIterable(matches -> VolunteerServiceImpl.rankedAll(matches, query.getSkills()));
+        }
+        return volunteerRepository.search(query);
+    }
+
+}
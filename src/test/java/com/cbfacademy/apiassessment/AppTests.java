@@ -7,15 +7,33 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.context.annotation.Description;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import com.cbfacademy.apiassessment.volunteer.Volunteer;
+
+import java.net.URI;
 import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(classes = ChurchManagementApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class AppTests {
 
+	// Response types for requests that select properties with the fields parameter, read as plain JSON objects.
+	private static final ParameterizedTypeReference<List<Map<String, Object>>> VOLUNTEER_LIST = new ParameterizedTypeReference<>() {
+	};
+	private static final ParameterizedTypeReference<Map<String, Object>> VOLUNTEER = new ParameterizedTypeReference<>() {
+	};
+
 	@LocalServerPort
 	private int port;
 
@@ -26,7 +44,7 @@ class AppTests {
 
 	@BeforeEach
 	public void setUp() throws Exception {
-		this.base = new URL("http://localhost:" + port + "/greeting");
+		this.base = URI.create("http://localhost:" + port + "/greeting").toURL();
 	}
 
 	@Test
@@ -46,4 +64,88 @@ class AppTests {
 		assertEquals(200, response.getStatusCode().value());
 		assertEquals("Hello John", response.getBody());
 	}
+
+	@Test
+	@Description("/api/volunteers streams one JSON object per line for application/x-ndjson and a JSON array otherwise")
+	public void volunteers_StreamsNdjsonWhenRequested() {
+		String url = "http://localhost:" + port + "/api/volunteers";
+		HttpHeaders headers = new HttpHeaders();
+		headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+		ResponseEntity<String> stream = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+		ResponseEntity<Volunteer[]> list = restTemplate.getForEntity(url, Volunteer[].class);
+
+		assertEquals(200, stream.getStatusCode().value());
+		assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(stream.getHeaders().getContentType()));
+		String[] lines = stream.getBody().split("\n");
+		assertEquals(list.getBody().length, lines.length);
+		assertTrue(lines[0].startsWith("{") && lines[0].endsWith("}"));
+	}
+
+	@Test
+	@Description("/api/volunteers answers a matching If-None-Match with 304, for the list and for a single volunteer")
+	public void volunteers_ConditionalGetReturnsNotModified() {
+		String url = "http://localhost:" + port + "/api/volunteers";
+		ResponseEntity<Volunteer[]> list = restTemplate.getForEntity(url, Volunteer[].class);
+		String listTag = list.getHeaders().getETag();
+		Volunteer first = list.getBody()[0];
+		ResponseEntity<Volunteer> one = restTemplate.getForEntity(url + "/" + first.getId(), Volunteer.class);
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.setIfNoneMatch(listTag);
+		ResponseEntity<String> notModified = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+		headers.setIfNoneMatch(one.getHeaders().getETag());
+		ResponseEntity<String> oneNotModified = restTemplate.exchange(url + "/" + first.getId(), HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+		assertEquals(first.getId(), one.getBody().getId());
+		assertEquals(304, notModified.getStatusCode().value());
+		assertEquals(304, oneNotModified.getStatusCode().value());
+		assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), one.getHeaders().getVary());
+		assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), oneNotModified.getHeaders().getVary());
+	}
+
+	@Test
+	@Description("/api/volunteers refuses to create a volunteer with the ID of an existing one, alone or in a batch")
+	public void volunteers_CreateWithExistingIdConflicts() {
+		String url = "http://localhost:" + port + "/api/volunteers";
+		Volunteer[] before = restTemplate.getForEntity(url, Volunteer[].class).getBody();
+		Map<String, Object> duplicate = Map.of("id", before[0].getId().toString(), "firstName", "Luke", "lastName", "Branch",
+				"contactNumber", "07756888373", "email", "lukeb@aol.com", "role", "Greeter", "skills", List.of("Welcoming"), "isActive", true);
+		ResponseEntity<String> created = restTemplate.postForEntity(url, duplicate, String.class);
+		ResponseEntity<List<Map<String, Object>>> batch = restTemplate.exchange(url + "/batch", HttpMethod.POST,
+				new HttpEntity<>(List.of(Map.of("op", "CREATE", "volunteer", duplicate))), VOLUNTEER_LIST);
+		ResponseEntity<Volunteer> stored = restTemplate.getForEntity(url + "/" + before[0].getId(), Volunteer.class);
+
+		assertEquals(409, created.getStatusCode().value());
+		assertEquals("CONFLICT", batch.getBody().get(0).get("status"));
+		assertEquals(before[0].getFirstName(), stored.getBody().getFirstName(), "The existing volunteer should not be replaced");
+		assertEquals(before.length, restTemplate.getForEntity(url, Volunteer[].class).getBody().length);
+	}
+
+	@Test
+	@Description("/api/volunteers writes only the properties named in the fields parameter")
+	public void volunteers_FieldsParameterSelectsProperties() {
+		String url = "http://localhost:" + port + "/api/volunteers";
+		ResponseEntity<List<Map<String, Object>>> list = restTemplate.exchange(url + "?fields=id,firstName,role", HttpMethod.GET, null, VOLUNTEER_LIST);
+		Map<String, Object> first = list.getBody().get(0);
+		ResponseEntity<Map<String, Object>> one = restTemplate.exchange(url + "/" + first.get("id") + "?fields=role", HttpMethod.GET, null, VOLUNTEER);
+		ResponseEntity<Map<String, Object>> full = restTemplate.exchange(url + "/" + first.get("id"), HttpMethod.GET, null, VOLUNTEER);
+
+		assertEquals(Set.of("id", "firstName", "role"), first.keySet());
+		assertEquals(Set.of("role"), one.getBody().keySet());
+		assertTrue(full.getBody().containsKey("skills"));
+	}
+
+	@Test
+	@Description("/api/volunteers/lookup finds volunteers by the start of their name")
+	public void volunteers_LookupMatchesNamePrefix() {
+		String url = "http://localhost:" + port + "/api/volunteers";
+		ResponseEntity<List<Map<String, Object>>> list = restTemplate.exchange(url + "?fields=firstName,lastName", HttpMethod.GET, null, VOLUNTEER_LIST);
+		Map<String, Object> first = list.getBody().get(0);
+		String firstName = (String) first.get("firstName");
+		String text = firstName.substring(0, Math.min(3, firstName.length())) + " " + first.get("lastName");
+		ResponseEntity<List<Map<String, Object>>> lookup = restTemplate.exchange(url + "/lookup?q={q}&fields=firstName,lastName", HttpMethod.GET, null, VOLUNTEER_LIST, text);
+
+		assertEquals(200, lookup.getStatusCode().value());
+		assertTrue(lookup.getBody().contains(first));
+	}
 }
@@ -0,0 +1,44 @@
+package com.cbfacademy.apiassessment.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Unit test class for BitmapIndex.
+ */
+public class BitmapIndexTest {
+
+    @Test
+    public void testIndex_MovesRowBetweenValues() {
+        // Arrange: Index three rows, then change the value of one of them
+        BitmapIndex<String> index = new BitmapIndex<>();
+        index.index(0, "Bookkeeper");
+        index.index(1, "Greeter");
+        index.index(2, "Bookkeeper");
+        index.index(2, "Greeter");
+
+        // Assert: The row left its previous bitmap and joined the new one
+        assertArrayEquals(new int[] { 0 }, index.rowsWith("Bookkeeper").toArray(), "The row should leave its previous value");
+        assertArrayEquals(new int[] { 1, 2 }, index.rowsWith("Greeter").toArray(), "The row should join its new value");
+    }
+
+    @Test
+    public void testRemoveRow_AndReturnedBitmapsAreCopies() {
+        // Arrange: Index two rows and remove one
+        BitmapIndex<Boolean> index = new BitmapIndex<>();
+        index.index(0, true);
+        index.index(1, true);
+        index.removeRow(0);
+
+        // Act: Modify a returned bitmap
+        index.rowsWith(true).add(5);
+
+        // Assert: Only the remaining row is indexed and the index itself was not modified
+        assertEquals(1, index.count(true), "Removed rows and changes to returned bitmaps should not be counted");
+        assertEquals(0, index.count(false), "Values never indexed should have no rows");
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.cbfacademy.apiassessment.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Unit test class for Dictionary.
+ */
+public class DictionaryTest {
+
+    @Test
+    public void testEncode_AssignsStableCodesAndCanonicalValues() {
+        // Arrange: A fresh dictionary
+        Dictionary dictionary = new Dictionary();
+
+        // Act: Encode two values, one of them twice through different instances
+        int cooking = dictionary.encode("Cooking");
+        int driving = dictionary.encode("Driving");
+        int again = dictionary.encode(new String("Cooking"));
+
+        // Assert: Codes are dense and stable, and decoding returns the first instance seen
+        assertEquals(0, cooking);
+        assertEquals(1, driving);
+        assertEquals(cooking, again, "A value should keep its code");
+        assertSame(dictionary.decode(cooking), dictionary.decode(again));
+        assertEquals(2, dictionary.size());
+        assertEquals(Dictionary.NONE, dictionary.encode(null), "Null should encode to NONE");
+        assertNull(dictionary.decode(Dictionary.NONE));
+    }
+
+    @Test
+    public void testFind_DoesNotGrowTheDictionary() {
+        // Arrange: A dictionary with one value
+        Dictionary dictionary = new Dictionary();
+        dictionary.encode("Cooking");
+
+        // Act & Assert: Unknown values are reported as NONE and not added
+        assertEquals(0, dictionary.find("Cooking"));
+        assertEquals(Dictionary.NONE, dictionary.find("Juggling"));
+        assertEquals(1, dictionary.size(), "Finding should not assign codes");
+    }
+
+    @Test
+    public void testEncodeAll_KeepsOrderAndDuplicates() {
+        // Arrange: A fresh dictionary
+        Dictionary dictionary = new Dictionary();
+
+        // Act: Encode a list and decode it back
+        int[] codes = dictionary.encodeAll(Arrays.asList("Cooking", "Driving", "Cooking", null));
+
+        // Assert: The list round-trips unchanged
+        assertArrayEquals(new int[] { 0, 1, 0, Dictionary.NONE }, codes);
+        assertEquals(Arrays.asList("Cooking", "Driving", "Cooking", null), dictionary.decodeAll(codes));
+        assertEquals(0, dictionary.encodeAll(null).length, "Null should encode to no codes");
+    }
+
+    @Test
+    public void testEncode_ConcurrentCallersAgreeOnCodes() throws Exception {
+        // Arrange: More values than the initial capacity, encoded from several threads at once
+        Dictionary dictionary = new Dictionary();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<int[]>> results = new ArrayList<>();
+        try {
+            // Act: Each thread encodes the same 1000 values
+            for (int thread = 0; thread < 4; thread++) {
+                results.add(executor.submit(() -> {
+                    int[] codes = new int[1000];
+                    for (int i = 0; i < codes.length; i++) {
+                        codes[i] = dictionary.encode("skill-" + i);
+                    }
+                    return codes;
+                }));
+            }
+
+            // Assert: Every thread got the same codes, each decoding to its value
+            int[] first = results.get(0).get();
+            for (Future<int[]> result : results) {
+                assertArrayEquals(first, result.get(), "Threads should agree on each value's code");
+            }
+            assertEquals(1000, dictionary.size());
+            for (int i = 0; i < first.length; i++) {
+                assertEquals("skill-" + i, dictionary.decode(first[i]));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
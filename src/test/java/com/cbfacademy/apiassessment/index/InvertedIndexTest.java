@@ -0,0 +1,78 @@
+package com.cbfacademy.apiassessment.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Unit test class for InvertedIndex.
+ */
+public class InvertedIndexTest {
+
+    @Test
+    public void testRowsWithAny_ReturnsUnionInRowOrder() {
+        // Arrange: Index three rows with overlapping keys
+        InvertedIndex<String> index = new InvertedIndex<>();
+        index.index(2, Arrays.asList("Accuracy", "Welcoming"));
+        index.index(0, Arrays.asList("Accuracy"));
+        index.index(1, Arrays.asList("Customer Service"));
+
+        // Act & Assert: Each matching row is returned once, in ascending order
+        assertArrayEquals(new int[] { 0, 2 }, index.rowsWithAny(List.of("Accuracy", "Welcoming")).toArray(), "Rows should be de-duplicated and sorted");
+        assertTrue(index.rowsWithAny(List.of("Cooking")).isEmpty(), "Unknown keys should match no rows");
+    }
+
+    @Test
+    public void testRowsWithAll_ReturnsIntersection() {
+        // Arrange: Index three rows with overlapping keys
+        InvertedIndex<String> index = new InvertedIndex<>();
+        index.index(0, Arrays.asList("Accuracy", "Welcoming"));
+        index.index(1, Arrays.asList("Accuracy"));
+        index.index(2, Arrays.asList("Welcoming", "Accuracy", "Cooking"));
+
+        // Act & Assert: Only rows holding every key match
+        assertArrayEquals(new int[] { 0, 2 }, index.rowsWithAll(List.of("Accuracy", "Welcoming")).toArray());
+        assertTrue(index.rowsWithAll(List.of("Accuracy", "Driving")).isEmpty(), "An unknown key should match no rows");
+        assertTrue(index.rowsWithAll(List.of()).isEmpty(), "No keys should match no rows");
+    }
+
+    @Test
+    public void testIndex_ReplacesPreviousKeys() {
+        // Arrange: Index a row, then re-index it with a different key set
+        InvertedIndex<String> index = new InvertedIndex<>();
+        index.index(0, Arrays.asList("Accuracy", "Welcoming"));
+        index.index(0, Arrays.asList("Welcoming", "Cooking"));
+
+        // Assert: Keys that were dropped no longer point at the row
+        assertEquals(0, index.count("Accuracy"), "Dropped keys should be unlinked");
+        assertEquals(1, index.count("Welcoming"), "Kept keys should still be linked once");
+        assertEquals(1, index.count("Cooking"), "New keys should be linked");
+    }
+
+    @Test
+    public void testIndexAndRemoveRow() {
+        // Arrange: Index a row with a repeated key, then drop one key and add another
+        InvertedIndex<String> index = new InvertedIndex<>();
+        index.index(3, Arrays.asList("Accuracy", "Welcoming", "Accuracy"));
+        assertEquals(List.of("Accuracy", "Welcoming"), index.keysFor(3), "Repeated keys should be indexed once");
+        index.index(3, Arrays.asList("Welcoming", "Cooking"));
+
+        // Assert: Changed keys are reflected in lookups
+        assertTrue(index.rowsWithAny(List.of("Accuracy")).isEmpty(), "A removed key should not match");
+        assertArrayEquals(new int[] { 3 }, index.rowsWithAny(List.of("Welcoming", "Cooking")).toArray(), "Kept and added keys should match");
+
+        // Act: Remove the whole row
+        index.removeRow(3);
+
+        // Assert: Nothing points at the row any more
+        assertEquals(0, index.count("Welcoming"), "Removing a row should unlink all of its keys");
+        assertTrue(index.keysFor(3).isEmpty());
+    }
+
+}
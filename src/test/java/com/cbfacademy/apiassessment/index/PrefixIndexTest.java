@@ -0,0 +1,59 @@
+package com.cbfacademy.apiassessment.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Unit test class for PrefixIndex.
+ */
+public class PrefixIndexTest {
+
+    @Test
+    public void testTokenize_SplitsOnPunctuationAndLowerCases() {
+        // Act & Assert: Words are split at anything that is not a letter or digit
+        assertEquals(List.of("judah", "david", "gmail", "com"), List.copyOf(PrefixIndex.tokenize("Judah.David@gmail.com")));
+        assertEquals(List.of("mary", "anne"), List.copyOf(PrefixIndex.tokenize("  Mary-Anne MARY ")), "Tokens should be distinct");
+        assertTrue(PrefixIndex.tokenize(null).isEmpty(), "Null text should have no tokens");
+    }
+
+    @Test
+    public void testRowsMatchingAll_RequiresEveryTermAsPrefix() {
+        // Arrange: Index three people
+        PrefixIndex index = new PrefixIndex();
+        index.index(0, PrefixIndex.tokenize("David Judah"));
+        index.index(1, PrefixIndex.tokenize("Davina Stone"));
+        index.index(2, PrefixIndex.tokenize("Judith Davies"));
+
+        // Act & Assert: Every term must start some token of the row
+        assertArrayEquals(new int[] { 0, 1, 2 }, index.rowsWithPrefix("dav").toArray(), "A prefix should match every token starting with it");
+        assertArrayEquals(new int[] { 0, 2 }, index.rowsMatchingAll(List.of("dav", "jud")).toArray(), "All terms should have to match");
+        assertTrue(index.rowsMatchingAll(List.of("davidx")).isEmpty(), "A term longer than any token should match nothing");
+        assertTrue(index.rowsMatchingAll(List.of()).isEmpty(), "No terms should match nothing");
+    }
+
+    @Test
+    public void testIndex_ReplacesAndRemovesTokens() {
+        // Arrange: Index a row, then re-index it with a different name
+        PrefixIndex index = new PrefixIndex();
+        index.index(0, PrefixIndex.tokenize("David Judah"));
+        index.index(0, PrefixIndex.tokenize("David Levi"));
+
+        // Assert: Dropped tokens no longer match and are removed from the index
+        assertTrue(index.rowsWithPrefix("jud").isEmpty(), "Dropped tokens should be unlinked");
+        assertArrayEquals(new int[] { 0 }, index.rowsWithPrefix("lev").toArray(), "New tokens should be linked");
+        assertEquals(2, index.size());
+
+        // Act: Remove the row
+        index.removeRow(0);
+
+        // Assert: The index is empty again
+        assertEquals(0, index.size(), "Removing a row should drop tokens no other row has");
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.cbfacademy.apiassessment.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.cbfacademy.apiassessment.volunteer.Volunteer;
+
+
+/**
+ * Unit test class for BinaryVolunteerSnapshot.
+ * Verifies that volunteers survive a write/map round trip and that lookups only decode what they need.
+ */
+public class BinaryVolunteerSnapshotTest {
+
+    // Temporary directory holding the snapshot file for each test.
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testWriteAndOpen_RoundTripsAllFields() throws IOException {
+        // Arrange: Write a snapshot containing a volunteer with a null email and no skills
+        Volunteer david = new Volunteer(UUID.randomUUID(), "David", "Judah", "07777777333", "judahdavid@gmail.com", "Bookkeeper", Arrays.asList("Numerical skills", "Accuracy"), true);
+        Volunteer luke = new Volunteer(UUID.randomUUID(), "Luke", "Branch", "07756888373", null, "Greeter", new ArrayList<>(), false);
+        Path path = tempDir.resolve("volunteers.bin");
+        BinaryVolunteerSnapshot.write(path, List.of(david, luke));
+
+        // Act: Map the snapshot and decode everything
+        BinaryVolunteerSnapshot snapshot = BinaryVolunteerSnapshot.open(path);
+        List<Volunteer> volunteers = List.of(snapshot.get(0), snapshot.get(1));
+
+        // Assert: Order and every field are preserved
+        assertEquals(2, snapshot.size(), "The snapshot should contain both volunteers");
+        assertEquals(david.getId(), volunteers.get(0).getId(), "Volunteers should be read back in file order");
+        assertEquals("Judah", volunteers.get(0).getLastName());
+        assertEquals(Arrays.asList("Numerical skills", "Accuracy"), volunteers.get(0).getSkills());
+        assertTrue(volunteers.get(0).isActive());
+        assertEquals(null, volunteers.get(1).getEmail(), "Null strings should round trip as null");
+        assertFalse(volunteers.get(1).isActive());
+    }
+
+    @Test
+    public void testFind_DecodesMatchingRecordOnce() throws IOException {
+        // Arrange: Write a snapshot with a handful of volunteers
+        List<Volunteer> volunteers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            volunteers.add(new Volunteer(UUID.randomUUID(), "Volunteer" + i, "Judah", "07777777333", "judahdavid@gmail.com", "Bookkeeper", Arrays.asList("Accuracy"), true));
+        }
+        Path path = tempDir.resolve("volunteers.bin");
+        BinaryVolunteerSnapshot.write(path, volunteers);
+        BinaryVolunteerSnapshot snapshot = BinaryVolunteerSnapshot.open(path);
+
+        // Act & Assert: Every ID is found by binary search and repeated lookups return the cached instance
+        for (Volunteer volunteer : volunteers) {
+            Volunteer found = snapshot.find(volunteer.getId()).orElseThrow();
+            assertEquals(volunteer.getFirstName(), found.getFirstName());
+            assertSame(found, snapshot.find(volunteer.getId()).orElseThrow(), "Decoded records should be cached");
+        }
+        assertFalse(snapshot.find(UUID.randomUUID()).isPresent(), "Unknown IDs should not be found");
+    }
+
+    @Test
+    public void testOpen_RejectsOtherFiles() throws IOException {
+        // Arrange: A JSON file is not a binary snapshot
+        Path path = tempDir.resolve("volunteers.json");
+        Files.writeString(path, "[]");
+
+        // Act & Assert: Opening it fails instead of returning garbage
+        assertThrows(IOException.class, () -> BinaryVolunteerSnapshot.open(path));
+    }
+
+}
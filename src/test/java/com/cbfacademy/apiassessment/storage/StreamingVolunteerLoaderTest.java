@@ -0,0 +1,79 @@
+package com.cbfacademy.apiassessment.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.cbfacademy.apiassessment.volunteer.Volunteer;
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+
+
+/**
+ * Unit test class for StreamingVolunteerLoader.
+ * Verifies that bad records are skipped individually and that parallel loading keeps file order.
+ */
+public class StreamingVolunteerLoaderTest {
+
+    // Three records: the second has an ID that is not a UUID and must be skipped.
+    private static final String JSON = "[\n"
+            + "  {\"id\": \"9232e3da-1bd3-4318-88a0-1935907d9ee8\", \"firstName\": \"Elizabeth\", \"skills\": [\"Organizational\"], \"isActive\": true},\n"
+            + "  {\"id\": \"not-a-uuid\", \"firstName\": \"Broken {record}\",\n"
+            + "   \"skills\": [], \"isActive\": true},\n"
+            + "  {\"id\": \"8b1b69fe-896b-4558-92c9-b56bf476bb20\", \"firstName\": \"Matthew\", \"skills\": [], \"isActive\": false}\n"
+            + "]";
+
+    @Test
+    public void testLoad_SkipsOnlyTheBadRecord() throws IOException {
+        // Arrange: A sequential loader
+        StreamingVolunteerLoader loader = new StreamingVolunteerLoader(new Gson(), 1, 1000, 1000);
+        List<Volunteer> volunteers = new ArrayList<>();
+
+        // Act: Load the records
+        StreamingVolunteerLoader.Result result = loader.load(new StringReader(JSON), "test", volunteers::add);
+
+        // Assert: The good records around the bad one were loaded and the bad one was reported with its line
+        assertEquals(2, result.getLoaded(), "Both valid records should be loaded");
+        assertEquals(List.of(3), result.getSkippedLines(), "The invalid record starts on line 3");
+        assertEquals(List.of("Elizabeth", "Matthew"), volunteers.stream().map(Volunteer::getFirstName).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testLoad_ParallelKeepsFileOrder() throws IOException {
+        // Arrange: A large array of records and a loader parsing small chunks on several threads
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 5000; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\":\"00000000-0000-0000-0000-").append(String.format("%012d", i))
+                    .append("\",\"firstName\":\"V").append(i).append("\",\"skills\":[],\"isActive\":true}");
+        }
+        json.append("]");
+        StreamingVolunteerLoader loader = new StreamingVolunteerLoader(new Gson(), 4, 100, 1000);
+        List<Volunteer> volunteers = new ArrayList<>();
+
+        // Act: Load in parallel
+        StreamingVolunteerLoader.Result result = loader.load(new StringReader(json.toString()), "test", volunteers::add);
+
+        // Assert: Every record arrived, in file order
+        assertEquals(5000, result.getLoaded());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals("V" + i, volunteers.get(i).getFirstName(), "Records should be handed over in file order");
+        }
+    }
+
+    @Test
+    public void testLoad_RejectsNonArray() {
+        // Arrange: A loader and a document that is not an array
+        StreamingVolunteerLoader loader = new StreamingVolunteerLoader(new Gson(), 1, 1000, 1000);
+
+        // Act & Assert: The whole load fails rather than silently loading nothing
+        assertThrows(JsonSyntaxException.class, () -> loader.load(new StringReader("{\"id\": 1}"), "test", volunteer -> { }));
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.cbfacademy.apiassessment.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Unit test class for WriteBehindFlusher.
+ * Verifies that a failed flush is neither acknowledged nor lost.
+ */
+public class WriteBehindFlusherTest {
+
+    @Test
+    public void testAwaitFlushed_FailsWhenTheFlushFailsAndRetries() {
+        // Arrange: A group commit flusher whose first flush fails
+        AtomicInteger attempts = new AtomicInteger();
+        WriteBehindFlusher flusher = new WriteBehindFlusher("test-write-behind", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new UncheckedIOException(new IOException("Disk full"));
+            }
+        }, Durability.GROUP_COMMIT, Duration.ofMillis(10), 1);
+        try {
+            // Act & Assert: The waiter covered by the failed flush is told so rather than acknowledged
+            long failed = flusher.markDirty();
+            assertThrows(IllegalStateException.class, () -> flusher.awaitFlushed(failed), "A failed flush should not be acknowledged");
+
+            // Act & Assert: The flusher retries, and the retry acknowledges later mutations
+            long retried = flusher.markDirty();
+            flusher.awaitFlushed(retried);
+            assertEquals(2, attempts.get(), "The failed flush should be retried once");
+        } finally {
+            flusher.close();
+        }
+    }
+
+}
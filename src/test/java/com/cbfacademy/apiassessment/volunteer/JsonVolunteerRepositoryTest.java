@@ -0,0 +1,690 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.cbfacademy.apiassessment.exception.InvalidPageRequestException;
+import com.cbfacademy.apiassessment.search.AdvancedSearchQuery;
+import com.cbfacademy.apiassessment.search.QueryPlan;
+import com.cbfacademy.apiassessment.search.SkillMatch;
+import com.cbfacademy.apiassessment.storage.Durability;
+import com.cbfacademy.apiassessment.storage.PersistenceMode;
+import com.cbfacademy.apiassessment.storage.SnapshotFormat;
+import com.cbfacademy.apiassessment.storage.StorageProperties;
+import com.cbfacademy.apiassessment.storage.VolunteerShard;
+import com.google.gson.Gson;
+
+
+/**
+ * Unit test class for JsonVolunteerRepository.
+ * Each test works against its own temporary directory so the bundled volunteers.json is never touched.
+ */
+public class JsonVolunteerRepositoryTest {
+
+    // Temporary directory holding the snapshot and log files for each test.
+    @TempDir
+    Path tempDir;
+
+    // Storage settings pointing at the temporary directory.
+    private StorageProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new StorageProperties();
+        properties.setFile(tempDir.resolve("volunteers.json").toString());
+    }
+
+    @Test
+    public void testSnapshotMode_PersistsAcrossRestart() {
+        // Arrange: Save a volunteer using the default snapshot mode
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        Volunteer volunteer = repository.save(newVolunteer("David"));
+
+        // Act: Reload the repository from disk
+        JsonVolunteerRepository reloaded = new JsonVolunteerRepository(properties);
+
+        // Assert: The volunteer was written to the snapshot file
+        assertTrue(reloaded.findById(volunteer.getId()).isPresent(), "The saved volunteer should be reloaded from the snapshot");
+    }
+
+    @Test
+    public void testWalMode_ReplaysLogOnStartup() throws IOException {
+        // Arrange: Save two volunteers, update one and delete the other in WAL mode
+        properties.setMode(PersistenceMode.WAL);
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        Volunteer kept = repository.save(newVolunteer("David"));
+        Volunteer removed = repository.save(newVolunteer("Luke"));
+        kept.setRole("Treasurer");
+        repository.save(kept);
+        repository.delete(removed);
+
+        // Assert: Nothing was written to the snapshot, only to the log
+        assertFalse(Files.exists(tempDir.resolve("volunteers.json")), "WAL mode should not rewrite the snapshot on every save");
+        assertEquals(4, Files.readAllLines(tempDir.resolve("volunteers.wal")).size(), "Each mutation should append one log record");
+
+        // Act: Start a new repository on the same files without compacting first
+        JsonVolunteerRepository reloaded = new JsonVolunteerRepository(properties);
+
+        // Assert: The log was replayed on top of the (empty) snapshot
+        assertEquals(1, reloaded.findAll().size(), "Only the volunteer that was not deleted should remain");
+        assertEquals("Treasurer", reloaded.findById(kept.getId()).get().getRole(), "The latest update should win");
+    }
+
+    @Test
+    public void testWalMode_FailedAppendFailsTheSave() {
+        // Arrange: A WAL-mode repository whose log has been closed, so appends fail
+        properties.setMode(PersistenceMode.WAL);
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        repository.save(newVolunteer("David"));
+        repository.close();
+
+        // Act & Assert: The save reports the failure instead of returning as if the change were durable
+        assertThrows(UncheckedIOException.class, () -> repository.save(newVolunteer("Luke")), "A failed log append should fail the save");
+    }
+
+    @Test
+    public void testWalMode_CompactionFoldsLogIntoSnapshot() throws IOException {
+        // Arrange: Write a few records in WAL mode
+        properties.setMode(PersistenceMode.WAL);
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        Volunteer volunteer = repository.save(newVolunteer("David"));
+        repository.save(newVolunteer("Luke"));
+
+        // Act: Compact the log and write one more record afterwards
+        repository.compact();
+        repository.delete(volunteer);
+
+        // Assert: The snapshot holds the compacted state and the log only the newer record
+        assertTrue(Files.exists(tempDir.resolve("volunteers.json")), "Compaction should write a snapshot");
+        assertFalse(Files.exists(tempDir.resolve("volunteers.wal.1")), "Compacted log segments should be discarded");
+        assertEquals(1, Files.readAllLines(tempDir.resolve("volunteers.wal")).size(), "Only records after the compaction should remain in the log");
+
+        JsonVolunteerRepository reloaded = new JsonVolunteerRepository(properties);
+        assertEquals(1, reloaded.findAll().size(), "The snapshot plus the remaining log should give the latest state");
+        assertFalse(reloaded.findById(volunteer.getId()).isPresent(), "The deleted volunteer should not come back");
+    }
+
+    @Test
+    public void testGroupCommit_ConcurrentSavesAreDurableOnReturn() throws Exception {
+        // Arrange: Use group commit so concurrent saves share flushes but still wait for them
+        properties.setMode(PersistenceMode.WAL);
+        properties.setDurability(Durability.GROUP_COMMIT);
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act: Save 50 volunteers from several threads
+        List<Future<Volunteer>> saves = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String name = "Volunteer" + i;
+            saves.add(executor.submit(() -> repository.save(newVolunteer(name))));
+        }
+        for (Future<Volunteer> save : saves) {
+            save.get();
+        }
+        executor.shutdown();
+
+        // Assert: Every save had reached the log by the time it returned
+        assertEquals(50, Files.readAllLines(tempDir.resolve("volunteers.wal")).size(), "Every saved volunteer should be in the log");
+        repository.close();
+    }
+
+    @Test
+    public void testAsyncDurability_FlushesOnShutdown() {
+        // Arrange: Use async durability with a flush interval long enough that only shutdown flushes
+        properties.setDurability(Durability.ASYNC);
+        properties.setFlushInterval(Duration.ofHours(1));
+        properties.setFlushThreshold(1000);
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        Volunteer volunteer = repository.save(newVolunteer("David"));
+
+        // Assert: The save returned without writing the snapshot
+        assertFalse(Files.exists(tempDir.resolve("volunteers.json")), "Async saves should not write on the request thread");
+
+        // Act: Shut the repository down
+        repository.close();
+
+        // Assert: The dirty state was flushed at shutdown
+        JsonVolunteerRepository reloaded = new JsonVolunteerRepository(properties);
+        assertTrue(reloaded.findById(volunteer.getId()).isPresent(), "Dirty state should be flushed when the repository closes");
+        reloaded.close();
+    }
+
+    @Test
+    public void testBinaryFormat_MigratesJsonAndPersists() {
+        // Arrange: Write a JSON snapshot, then switch to the binary format
+        JsonVolunteerRepository jsonRepository = new JsonVolunteerRepository(properties);
+        Volunteer existing = jsonRepository.save(newVolunteer("David"));
+        properties.setFormat(SnapshotFormat.BINARY);
+
+        // Act: Open the repository in binary mode and save another volunteer
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        assertTrue(Files.exists(tempDir.resolve("volunteers.bin")), "The JSON snapshot should be migrated to volunteers.bin");
+        assertEquals("David", repository.findById(existing.getId()).get().getFirstName(), "Point lookups should work on the mapped snapshot");
+        Volunteer added = repository.save(newVolunteer("Luke"));
+
+        // Assert: A restart reads both volunteers back from the binary snapshot
+        JsonVolunteerRepository reloaded = new JsonVolunteerRepository(properties);
+        assertEquals(2, reloaded.findAll().size(), "Both volunteers should be in the binary snapshot");
+        assertTrue(reloaded.findById(added.getId()).isPresent(), "The new volunteer should be in the binary snapshot");
+    }
+
+    @Test
+    public void testSave_UpdatesInPlaceAndKeepsOrder() {
+        // Arrange: Save three volunteers and delete the middle one
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        Volunteer first = repository.save(newVolunteer("David"));
+        Volunteer second = repository.save(newVolunteer("Luke"));
+        Volunteer third = repository.save(newVolunteer("Mary"));
+        repository.delete(second);
+
+        // Act: Update the first volunteer with a new instance carrying the same ID
+        Volunteer updated = new Volunteer(first.getId(), "Dave", "Judah", "07777777333", "judahdavid@gmail.com", "Bookkeeper", Arrays.asList("Accuracy"), true);
+        repository.save(updated);
+
+        // Assert: The update replaced the existing row and insertion order is kept
+        List<Volunteer> all = repository.findAll();
+        assertEquals(2, all.size(), "Updating should not add a second record for the same ID");
+        assertEquals("Dave", all.get(0).getFirstName(), "The update should stay in the original position");
+        assertEquals(third.getId(), all.get(1).getId(), "Later volunteers should keep their order after a delete");
+        assertFalse(repository.findById(second.getId()).isPresent(), "The deleted volunteer should no longer be found");
+    }
+
+    @Test
+    public void testFindBySkills_FollowsSkillChanges() {
+        // Arrange: Save two volunteers sharing a skill
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        Volunteer david = repository.save(newVolunteer("David"));
+        Volunteer luke = repository.save(newVolunteer("Luke"));
+
+        // Act: Change skills through save, addSkill and removeSkill, then delete a volunteer
+        david.setSkills(Arrays.asList("Welcoming"));
+        repository.save(david);
+        repository.addSkill(luke.getId(), "Cooking");
+        repository.removeSkill(luke.getId(), "Accuracy");
+
+        // Assert: Skill lookups reflect every change
+        assertEquals(List.of(david), repository.findBySkills(List.of("Welcoming")), "A saved skill change should be indexed");
+        assertEquals(List.of(luke), repository.findBySkills(List.of("Cooking", "Numerical skills")), "Each match should be returned once");
+        assertTrue(repository.findBySkills(List.of("Accuracy")).isEmpty(), "Removed skills should no longer match");
+        assertFalse(repository.addSkill(UUID.randomUUID(), "Cooking").isPresent(), "Unknown volunteers should be reported as absent");
+
+        repository.delete(luke);
+        assertTrue(repository.findBySkills(List.of("Cooking")).isEmpty(), "Deleted volunteers should no longer match");
+    }
+
+    @Test
+    public void testSearch_IntersectsActiveRoleAndSkills() {
+        // Arrange: Save volunteers that each differ from the query in one attribute
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        Volunteer match = repository.save(newVolunteer("David"));
+        repository.save(new Volunteer(UUID.randomUUID(), "Luke", "Branch", "07756888373", "lukeb@aol.com", "Greeter", Arrays.asList("Accuracy"), true));
+        repository.save(new Volunteer(UUID.randomUUID(), "Mary", "Stone", "07756888374", "marys@aol.com", "Bookkeeper", Arrays.asList("Accuracy"), false));
+        repository.save(new Volunteer(UUID.randomUUID(), "Anna", "Reed", "07756888375", "annar@aol.com", "Bookkeeper", Arrays.asList("Welcoming"), true));
+
+        // Act: Search for active bookkeepers with either skill
+        List<Volunteer> results = repository.search(new AdvancedSearchQuery(Arrays.asList("Accuracy", "Cooking"), true, "Bookkeeper"));
+
+        // Assert: Only the volunteer matching all three criteria is returned
+        assertEquals(List.of(match), results, "Only active bookkeepers with a requested skill should match");
+        assertEquals(3, repository.search(new AdvancedSearchQuery(null, true)).size(), "Without skills or role only the active status should filter");
+        assertEquals(1, repository.findByIsActive(false).size(), "The inactive bitmap should hold the one inactive volunteer");
+    }
+
+    @Test
+    public void testSearch_AllSkillsRequiresEverySkill() {
+        // Arrange: Save volunteers holding one or both skills
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        Volunteer both = repository.save(newVolunteer("David"));
+        repository.save(new Volunteer(UUID.randomUUID(), "Luke", "Branch", "07756888373", "lukeb@aol.com", "Bookkeeper", Arrays.asList("Accuracy"), true));
+        AdvancedSearchQuery all = new AdvancedSearchQuery(Arrays.asList("Accuracy", "Numerical skills"), true);
+        all.setSkillMatch(SkillMatch.ALL);
+
+        // Act & Assert: Only the volunteer with both skills matches, and the any-of query is cached separately
+        assertEquals(List.of(both), repository.search(all));
+        assertEquals(2, repository.search(new AdvancedSearchQuery(Arrays.asList("Accuracy", "Numerical skills"), true)).size());
+        assertEquals(2, repository.getSearchCacheStats().missCount(), "All-of and any-of queries should not share a cache entry");
+
+        // Act: Remove one of the skills
+        repository.removeSkill(both.getId(), "Accuracy");
+
+        // Assert: The cached all-of result was invalidated
+        assertTrue(repository.search(all).isEmpty(), "A volunteer losing a required skill should no longer match");
+    }
+
+    @Test
+    public void testSearch_RepeatedQueriesHitCache() {
+        // Arrange: Save a matching volunteer
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        Volunteer match = repository.save(newVolunteer("David"));
+
+        // Act: Run the same query twice, the second time with its skills reordered and repeated
+        repository.search(new AdvancedSearchQuery(Arrays.asList("Accuracy", "Numerical skills"), true, "Bookkeeper"));
+        List<Volunteer> results = repository.search(new AdvancedSearchQuery(Arrays.asList("Numerical skills", "Accuracy", "Numerical skills"), true, "Bookkeeper"));
+
+        // Assert: The normalized query was answered from the cache
+        assertEquals(List.of(match), results);
+        assertEquals(1, repository.getSearchCacheStats().missCount(), "Only the first query should be computed");
+        assertEquals(1, repository.getSearchCacheStats().hitCount(), "Equivalent queries should share a cache entry");
+    }
+
+    @Test
+    public void testSearch_UnknownSkillMatchesOnceAVolunteerHasIt() {
+        // Arrange: Search for a skill nobody has had yet
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        Volunteer volunteer = repository.save(newVolunteer("David"));
+        String skill = "Bell ringing";
+        AdvancedSearchQuery ringers = new AdvancedSearchQuery(List.of(skill), true);
+        assertTrue(repository.search(ringers).isEmpty());
+
+        // Act: Give the volunteer the new skill
+        repository.addSkill(volunteer.getId(), skill);
+
+        // Assert: The earlier empty result was not cached under the unknown skill
+        assertEquals(List.of(volunteer), repository.search(ringers), "A query for an unknown skill should not be cached");
+    }
+
+    @Test
+    public void testSave_InternsSkillsOnlyForStoredVolunteers() {
+        // Arrange: A repository holding one volunteer, and a second repository with its own dictionaries
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        repository.save(newVolunteer("David"));
+        int known = repository.getSkillDictionary().size();
+
+        // Act: Query and look up skills nobody has, then store two volunteers sharing a skill
+        repository.search(new AdvancedSearchQuery(List.of("Juggling"), true));
+        repository.findBySkills(List.of("Unicycling"));
+        int afterQueries = repository.getSkillDictionary().size();
+        Volunteer luke = repository.save(new Volunteer(null, "Luke", "Branch", "07756888373", "lukeb@aol.com", "Greeter", List.of(new String("Juggling")), true));
+        Volunteer ruth = repository.save(new Volunteer(null, "Ruth", "Branch", "07756888374", "ruthb@aol.com", "Greeter", List.of(new String("Juggling")), true));
+
+        // Assert: Queries added nothing, and stored volunteers share one instance of each value
+        assertEquals(known, afterQueries, "Queries should not add values to the dictionary");
+        assertEquals(known + 1, repository.getSkillDictionary().size());
+        assertSame(luke.getSkills().get(0), ruth.getSkills().get(0), "Stored volunteers should share the canonical skill");
+        assertSame(luke.getRole(), ruth.getRole(), "Stored volunteers should share the canonical role");
+        assertNotSame(repository.getSkillDictionary(), new JsonVolunteerRepository(properties).getSkillDictionary(), "Each repository should have its own dictionary");
+    }
+
+    @Test
+    public void testSearch_ChangesInvalidateOnlyAffectedQueries() {
+        // Arrange: Cache a query for bookkeepers and one for greeters, of whom there are only inactive ones
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        Volunteer bookkeeper = repository.save(newVolunteer("David"));
+        repository.save(new Volunteer(UUID.randomUUID(), "Ruth", "Stone", "07756888375", "ruths@aol.com", "Greeter", Arrays.asList("Accuracy"), false));
+        AdvancedSearchQuery bookkeepers = new AdvancedSearchQuery(null, true, "Bookkeeper");
+        AdvancedSearchQuery greeters = new AdvancedSearchQuery(null, true, "Greeter");
+        repository.search(bookkeepers);
+        repository.search(greeters);
+
+        // Act: Move the bookkeeper to another role and add an inactive greeter
+        bookkeeper.setRole("Treasurer");
+        repository.save(bookkeeper);
+        repository.save(new Volunteer(UUID.randomUUID(), "Mary", "Stone", "07756888374", "marys@aol.com", "Greeter", Arrays.asList("Accuracy"), false));
+
+        // Assert: The bookkeeper query is recomputed, the greeter query is still cached
+        assertTrue(repository.search(bookkeepers).isEmpty(), "A volunteer leaving the role should drop the cached result");
+        assertTrue(repository.search(greeters).isEmpty());
+        assertEquals(3, repository.getSearchCacheStats().missCount(), "Only the query the change touched should be recomputed");
+        assertEquals(1, repository.getSearchCacheStats().hitCount(), "Changes to inactive volunteers should not affect queries for active ones");
+
+        // Act: Remove the volunteer's matching skill
+        AdvancedSearchQuery accurate = new AdvancedSearchQuery(List.of("Accuracy"), true, "Treasurer");
+        assertEquals(List.of(bookkeeper), repository.search(accurate));
+        repository.removeSkill(bookkeeper.getId(), "Accuracy");
+
+        // Assert: The skill change dropped the cached result
+        assertTrue(repository.search(accurate).isEmpty(), "Removing a skill should drop the cached result");
+    }
+
+    @Test
+    public void testExplain_ReportsPlanWithActualRows() {
+        // Arrange: Save two active bookkeepers and an active greeter
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        repository.save(newVolunteer("David"));
+        repository.save(newVolunteer("Ruth"));
+        repository.save(new Volunteer(UUID.randomUUID(), "Luke", "Branch", "07756888373", "lukeb@aol.com", "Greeter", Arrays.asList("Accuracy"), true));
+
+        // Act: Explain a search for active bookkeepers
+        QueryPlan plan = repository.explain(new AdvancedSearchQuery(null, true, "Bookkeeper"));
+
+        // Assert: The more selective role is applied first and the actual rows are reported
+        assertEquals(3, plan.getTotalRows());
+        assertEquals("role", plan.getSteps().get(0).getField(), "The role matches fewer volunteers than the active status");
+        assertEquals(2, plan.getSteps().get(0).getActualRows());
+        assertEquals(2, plan.getActualRows());
+        assertEquals(2, plan.getEstimatedRows());
+    }
+
+    @Test
+    public void testColumnar_ScansMatchTheIndexes() {
+        // Arrange: Save the same volunteers to a columnar repository, changing and deleting some of them
+        properties.setColumnar(true);
+        properties.setSearchCacheSize(0);
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        Volunteer david = repository.save(newVolunteer("David"));
+        Volunteer ruth = repository.save(newVolunteer("Ruth"));
+        Volunteer luke = repository.save(new Volunteer(UUID.randomUUID(), "Luke", "Branch", "07756888373", "lukeb@aol.com", "Greeter", Arrays.asList("Accuracy"), true));
+        Volunteer mary = repository.save(new Volunteer(UUID.randomUUID(), "Mary", "Stone", "07756888374", "marys@aol.com", "Greeter", Arrays.asList("Cooking"), false));
+        repository.addSkill(david.getId(), "Cooking");
+        repository.addSkill(luke.getId(), "Cooking");
+        repository.delete(ruth);
+
+        // Act & Assert: Searches and active-status lookups read the columns
+        assertEquals(List.of(david, luke), repository.search(new AdvancedSearchQuery(List.of("Cooking"), true)));
+        assertEquals(List.of(luke), repository.search(new AdvancedSearchQuery(List.of("Cooking"), true, "Greeter")));
+        assertEquals(List.of(mary), repository.findByIsActive(false));
+        assertEquals(List.of(david, luke), repository.findByIsActive(true));
+
+        // Act: Explain a search
+        QueryPlan plan = repository.explain(new AdvancedSearchQuery(null, true, "Bookkeeper"));
+
+        // Assert: The plan is a single column scan
+        assertEquals(1, plan.getSteps().size());
+        assertEquals(QueryPlan.Access.COLUMN_SCAN, plan.getSteps().get(0).getAccess());
+        assertEquals("active, role", plan.getSteps().get(0).getField());
+        assertEquals(1, plan.getActualRows());
+    }
+
+    @Test
+    public void testParallelScan_KeepsInsertionOrder() throws IOException {
+        // Arrange: A snapshot large enough for scans to be split, loaded with and without parallel scans
+        List<Volunteer> volunteers = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            volunteers.add(new Volunteer(UUID.randomUUID(), "Volunteer" + i, "Judah", "07777777333", "judahdavid@gmail.com",
+                    i % 3 == 0 ? "Greeter" : "Bookkeeper", Arrays.asList(i % 2 == 0 ? "Cooking" : "Accuracy"), i % 5 != 0));
+        }
+        Files.writeString(tempDir.resolve("volunteers.json"), new Gson().toJson(volunteers));
+        properties.setSearchCacheSize(0);
+        JsonVolunteerRepository sequential = new JsonVolunteerRepository(properties);
+        properties.setScanParallelism(4);
+        properties.setParallelScanThreshold(1000);
+        JsonVolunteerRepository parallel = new JsonVolunteerRepository(properties);
+
+        // Act & Assert: Both return the same volunteers in the same order
+        AdvancedSearchQuery query = new AdvancedSearchQuery(List.of("Cooking"), true);
+        assertEquals(ids(sequential.search(query)), ids(parallel.search(query)));
+        assertEquals(ids(sequential.findByIsActive(true)), ids(parallel.findByIsActive(true)));
+        assertEquals(16_000, parallel.findByIsActive(true).size());
+        parallel.close();
+    }
+
+    @Test
+    public void testLookup_MatchesNamePrefixesAndFollowsChanges() {
+        // Arrange: Save volunteers with overlapping names
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        Volunteer david = repository.save(newVolunteer("David"));
+        Volunteer davina = repository.save(new Volunteer(UUID.randomUUID(), "Davina", "Stone", "07756 888374", "davina.stone@aol.com", "Greeter", Arrays.asList("Welcoming"), true));
+
+        // Act & Assert: Lookups match word prefixes across names, email and contact number
+        assertEquals(List.of(david, davina), repository.lookup("Dav", 10), "A name prefix should match both volunteers");
+        assertEquals(List.of(davina), repository.lookup("dav sto", 10), "Every word should have to match");
+        assertEquals(List.of(davina), repository.lookup("07756888", 10), "Contact numbers should match without their spacing");
+        assertEquals(List.of(davina), repository.lookup("aol", 10), "Email domains should be searchable");
+        assertEquals(List.of(david), repository.lookup("dav", 1), "The limit should cap the results");
+        assertTrue(repository.lookup(" .. ", 10).isEmpty(), "Text without words should match nothing");
+
+        // Act: Rename one volunteer and delete the other
+        david.setFirstName("Daniel");
+        repository.save(david);
+        repository.delete(davina);
+
+        // Assert: The index follows the changes
+        assertTrue(repository.lookup("dav", 10).isEmpty(), "Renamed and deleted volunteers should no longer match");
+        assertEquals(List.of(david), repository.lookup("dan jud", 10), "The new name should be indexed");
+    }
+
+    @Test
+    public void testConcurrentReadsAndWrites_KeepIndexesConsistent() throws Exception {
+        // Arrange: Use the write-ahead log so saves are cheap enough to run many of them concurrently
+        properties.setMode(PersistenceMode.WAL);
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act: Save, update and delete volunteers while other tasks read and search
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String name = "Volunteer" + i;
+            boolean deleteAfterwards = i % 4 == 0;
+            tasks.add(executor.submit(() -> {
+                Volunteer volunteer = repository.save(newVolunteer(name));
+                repository.addSkill(volunteer.getId(), "Cooking");
+                if (deleteAfterwards) {
+                    repository.delete(volunteer);
+                }
+            }));
+            tasks.add(executor.submit(() -> {
+                repository.findAll().forEach(volunteer -> repository.findById(volunteer.getId()));
+                repository.search(new AdvancedSearchQuery(List.of("Cooking"), true, "Bookkeeper"));
+            }));
+        }
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        executor.shutdown();
+
+        // Assert: Every surviving volunteer is visible through each index
+        assertEquals(150, repository.findAll().size(), "Every volunteer that was not deleted should remain");
+        assertEquals(150, repository.findBySkills(List.of("Cooking")).size(), "Every added skill should be indexed");
+        assertEquals(150, repository.findByIsActive(true).size(), "Every surviving volunteer should be in the active bitmap");
+        repository.close();
+    }
+
+    @Test
+    public void testShards_MutationRewritesOnlyItsShard() throws IOException {
+        // Arrange: Split volunteers across four shard files in their own directory
+        properties.setShardCount(4);
+        properties.setDirectory(tempDir.resolve("shards").toString());
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        List<Volunteer> saved = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            saved.add(repository.save(newVolunteer("Volunteer" + i)));
+        }
+        Volunteer deleted = saved.get(0);
+        int deletedShard = VolunteerShard.shardOf(deleted.getId(), 4);
+        List<byte[]> before = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            before.add(Files.readAllBytes(tempDir.resolve("shards/volunteers-" + i + ".json")));
+        }
+
+        // Act: Delete one volunteer
+        repository.delete(deleted);
+
+        // Assert: Only the deleted volunteer's shard file changed
+        for (int i = 0; i < 4; i++) {
+            byte[] after = Files.readAllBytes(tempDir.resolve("shards/volunteers-" + i + ".json"));
+            assertEquals(i != deletedShard, Arrays.equals(before.get(i), after), "Only shard " + deletedShard + " should be rewritten");
+        }
+        assertFalse(Files.exists(tempDir.resolve("volunteers.json")), "The unsharded snapshot should not be written");
+
+        // Assert: Loading the shards back in parallel restores the remaining volunteers
+        JsonVolunteerRepository reloaded = new JsonVolunteerRepository(properties);
+        assertEquals(19, reloaded.findAll().size(), "The 19 remaining volunteers should be reloaded");
+        assertTrue(reloaded.findById(saved.get(1).getId()).isPresent(), "Volunteers should be found after reloading the shards");
+        reloaded.close();
+    }
+
+    @Test
+    public void testShards_SplitExistingSnapshotOnFirstStart() {
+        // Arrange: Write an unsharded snapshot, then enable sharding
+        JsonVolunteerRepository unsharded = new JsonVolunteerRepository(properties);
+        Volunteer volunteer = unsharded.save(newVolunteer("David"));
+        int total = unsharded.findAll().size();
+        properties.setShardCount(3);
+
+        // Act: Start on the same file with three shards
+        JsonVolunteerRepository sharded = new JsonVolunteerRepository(properties);
+
+        // Assert: The existing volunteers were split into shard files next to the snapshot
+        assertEquals(total, sharded.findAll().size(), "Every volunteer should be imported from the unsharded snapshot");
+        assertTrue(Files.exists(tempDir.resolve("volunteers-" + VolunteerShard.shardOf(volunteer.getId(), 3) + ".json")), "The volunteer's shard should be written");
+        assertTrue(new JsonVolunteerRepository(properties).findById(volunteer.getId()).isPresent(), "A restart should read the shards");
+        sharded.close();
+    }
+
+    @Test
+    public void testFindPage_CursorWalksEveryVolunteerOnce() {
+        // Arrange: Save seven volunteers, one of them inactive
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        List<Volunteer> saved = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            saved.add(repository.save(newVolunteer("Volunteer" + i)));
+        }
+        saved.get(3).setActive(false);
+        repository.save(saved.get(3));
+
+        // Act: Fetch the first page, delete a volunteer from the next page, then keep following the cursor
+        VolunteerPage first = repository.findPage(null, 3);
+        repository.delete(saved.get(4));
+        List<Volunteer> walked = new ArrayList<>(first.getVolunteers());
+        String cursor = first.getNextCursor();
+        while (cursor != null) {
+            VolunteerPage page = repository.findPage(cursor, 3);
+            walked.addAll(page.getVolunteers());
+            cursor = page.getNextCursor();
+        }
+
+        // Assert: Every remaining volunteer is returned once, in insertion order
+        List<Volunteer> expected = new ArrayList<>(saved);
+        expected.remove(4);
+        assertEquals(expected, walked, "Pages should continue after the cursor without skipping or repeating volunteers");
+        VolunteerPage active = repository.searchPage(new AdvancedSearchQuery(null, true), null, 10);
+        assertEquals(5, active.getVolunteers().size(), "Search pages should only hold matching volunteers");
+        assertNull(active.getNextCursor(), "The last page should not have a next cursor");
+    }
+
+    @Test
+    public void testFindPage_CursorSurvivesRestartButRejectsGarbage() {
+        // Arrange: Save four volunteers and take the first page
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        List<Volunteer> saved = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            saved.add(repository.save(newVolunteer("Volunteer" + i)));
+        }
+        String cursor = repository.findPage(null, 2).getNextCursor();
+
+        // Act: Continue the listing on a reloaded repository
+        JsonVolunteerRepository reloaded = new JsonVolunteerRepository(properties);
+        VolunteerPage next = reloaded.findPage(cursor, 2);
+
+        // Assert: The cursor is resolved through the last volunteer's ID and bad cursors are rejected
+        assertEquals(List.of(saved.get(2).getId(), saved.get(3).getId()), next.getVolunteers().stream().map(Volunteer::getId).toList(),
+                "The next page should follow on after a restart");
+        assertThrows(InvalidPageRequestException.class, () -> reloaded.findPage("not-a-cursor", 2), "Malformed cursors should be rejected");
+        reloaded.delete(saved.get(1));
+        assertThrows(InvalidPageRequestException.class, () -> new JsonVolunteerRepository(properties).findPage(cursor, 2),
+                "A cursor whose volunteer no longer exists should be reported as expired after a restart");
+    }
+
+    @Test
+    public void testForEachVolunteer_VisitsEveryChunkInOrder() {
+        // Arrange: Save more volunteers than fit in one streaming chunk, then delete one
+        properties.setMode(PersistenceMode.WAL);
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        for (int i = 0; i < 1500; i++) {
+            repository.save(newVolunteer("Volunteer" + i));
+        }
+        repository.delete(repository.findAll().get(1200));
+
+        // Act: Stream every volunteer
+        List<Volunteer> streamed = new ArrayList<>();
+        repository.forEachVolunteer(streamed::add);
+
+        // Assert: The stream matches the full listing
+        assertEquals(repository.findAll(), streamed, "Streaming should visit every volunteer once, in insertion order");
+        repository.close();
+    }
+
+    @Test
+    public void testVersion_IncreasesWithEveryMutation() {
+        // Arrange: Save two volunteers
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        Volunteer david = repository.save(newVolunteer("David"));
+        Volunteer luke = repository.save(newVolunteer("Luke"));
+        long lukeVersion = repository.findVersion(luke.getId()).getAsLong();
+
+        // Act & Assert: Each mutation moves the global version and the changed volunteer's version only
+        long before = repository.getVersion();
+        repository.findAll();
+        assertEquals(before, repository.getVersion(), "Reads should not change the version");
+        repository.addSkill(david.getId(), "Cooking");
+        assertTrue(repository.getVersion() > before, "A skill change should increase the version");
+        assertEquals(repository.getVersion(), repository.findVersion(david.getId()).getAsLong(), "The changed volunteer should carry the new version");
+        assertEquals(lukeVersion, repository.findVersion(luke.getId()).getAsLong(), "Other volunteers should keep their version");
+        long afterSkill = repository.getVersion();
+        repository.delete(luke);
+        assertTrue(repository.getVersion() > afterSkill, "A delete should increase the version");
+        assertFalse(repository.findVersion(luke.getId()).isPresent(), "Deleted volunteers should have no version");
+    }
+
+    @Test
+    public void testApplyBatch_AppliesInOrderAndPersistsTogether() throws IOException {
+        // Arrange: Start from one saved volunteer in WAL mode
+        properties.setMode(PersistenceMode.WAL);
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        Volunteer existing = repository.save(newVolunteer("David"));
+        Volunteer created = newVolunteer("Luke");
+        Volunteer temporary = newVolunteer("Mary");
+        existing.setRole("Treasurer");
+
+        // Act: Create two volunteers, update the existing one and delete one of the new ones in a single batch
+        repository.applyBatch(List.of(
+                new BatchOperation(BatchOperation.Type.CREATE, created.getId(), created),
+                new BatchOperation(BatchOperation.Type.CREATE, temporary.getId(), temporary),
+                new BatchOperation(BatchOperation.Type.UPDATE, existing.getId(), existing),
+                new BatchOperation(BatchOperation.Type.DELETE, temporary.getId(), null)));
+
+        // Assert: The batch was applied in order and logged together
+        assertEquals(List.of(existing, created), repository.findAll(), "The batch should leave the existing and the created volunteer");
+        assertEquals(List.of(existing), repository.search(new AdvancedSearchQuery(null, true, "Treasurer")), "Batch updates should be indexed");
+        assertEquals(5, Files.readAllLines(tempDir.resolve("volunteers.wal")).size(), "Every batch operation should be logged");
+        JsonVolunteerRepository reloaded = new JsonVolunteerRepository(properties);
+        assertEquals(2, reloaded.findAll().size(), "The batch should survive a restart");
+        assertFalse(reloaded.findById(temporary.getId()).isPresent(), "The deleted volunteer should stay deleted after replay");
+    }
+
+    @Test
+    public void testApplyBatch_FailedAppendFailsTheBatch() {
+        // Arrange: A WAL-mode repository whose log has been closed, so appends fail
+        properties.setMode(PersistenceMode.WAL);
+        JsonVolunteerRepository repository = new JsonVolunteerRepository(properties);
+        repository.close();
+        Volunteer created = newVolunteer("Luke");
+
+        // Act & Assert: The batch reports the failure instead of returning as if it were applied
+        assertThrows(UncheckedIOException.class, () -> repository.applyBatch(List.of(new BatchOperation(BatchOperation.Type.CREATE, created.getId(), created))),
+                "A failed log append should fail the batch");
+    }
+
+    // Helper method creating a valid volunteer with the given first name.
+    private Volunteer newVolunteer(String firstName) {
+        return new Volunteer(UUID.randomUUID(), firstName, "Judah", "07777777333", "judahdavid@gmail.com", "Bookkeeper", Arrays.asList("Numerical skills", "Accuracy"), true);
+    }
+
+    // Helper method listing the IDs of volunteers, in order.
+    private static List<UUID> ids(List<Volunteer> volunteers) {
+        return volunteers.stream().map(Volunteer::getId).toList();
+    }
+
+}
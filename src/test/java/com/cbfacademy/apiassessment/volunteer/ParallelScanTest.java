@@ -0,0 +1,73 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Unit test class for ParallelScan.
+ */
+public class ParallelScanTest {
+
+    @Test
+    public void testForEachRange_CoversEveryItemOnceOnTheDedicatedPool() {
+        // Arrange: A scanner splitting scans of 1000 items or more across four threads
+        ParallelScan scan = new ParallelScan(4, 1000);
+        AtomicIntegerArray visits = new AtomicIntegerArray(100_000);
+        List<int[]> ranges = new CopyOnWriteArrayList<>();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        try {
+            // Act: Scan 100,000 items
+            scan.forEachRange(visits.length(), (from, to) -> {
+                ranges.add(new int[] { from, to });
+                threads.add(Thread.currentThread().getName());
+                for (int i = from; i < to; i++) {
+                    visits.incrementAndGet(i);
+                }
+            });
+        } finally {
+            scan.close();
+        }
+
+        // Assert: Every item was visited exactly once, in word-aligned chunks run by the scan threads
+        for (int i = 0; i < visits.length(); i++) {
+            assertEquals(1, visits.get(i), "Item " + i + " should be visited once");
+        }
+        assertTrue(ranges.size() > 1, "A large scan should be split");
+        for (int[] range : ranges) {
+            assertTrue(range[0] % 64 == 0, "Chunks should start on a 64-item boundary");
+        }
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("volunteer-scan-")),
+                "Chunks should run on the dedicated pool, not the common pool: " + threads);
+    }
+
+    @Test
+    public void testForEachRange_SmallScansRunOnTheCaller() {
+        // Arrange: A scanner with a threshold above the scan size, and one with a single thread
+        ParallelScan aboveThreshold = new ParallelScan(4, 1000);
+        ParallelScan sequential = new ParallelScan(1, 1);
+        List<String> threads = new CopyOnWriteArrayList<>();
+        try {
+            // Act: Run a scan with each
+            aboveThreshold.forEachRange(999, (from, to) -> threads.add(Thread.currentThread().getName()));
+            sequential.forEachRange(100_000, (from, to) -> threads.add(Thread.currentThread().getName()));
+        } finally {
+            aboveThreshold.close();
+            sequential.close();
+        }
+
+        // Assert: Both ran in one piece on the calling thread
+        assertEquals(List.of(Thread.currentThread().getName(), Thread.currentThread().getName()), threads);
+        assertFalse(sequential.splits(Long.MAX_VALUE), "A single-threaded scanner should never split");
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import com.cbfacademy.apiassessment.index.BitmapIndex;
+import com.cbfacademy.apiassessment.index.Dictionary;
+import com.cbfacademy.apiassessment.index.InvertedIndex;
+import com.cbfacademy.apiassessment.search.AdvancedSearchQuery;
+import com.cbfacademy.apiassessment.search.QueryPlan;
+import com.cbfacademy.apiassessment.search.SkillMatch;
+
+
+/**
+ * Unit test class for SearchPlanner.
+ */
+public class SearchPlannerTest {
+
+    private static final int ROWS = 10_000;
+    private static final List<String> ROLES = List.of("Greeter", "Usher", "Caterer", "Driver");
+    private static final List<String> SKILLS = List.of("Welcoming", "Cooking", "Driving", "First aid", "Lighting");
+
+    private final InvertedIndex<Integer> skillIndex = new InvertedIndex<>();
+    private final BitmapIndex<Integer> roleIndex = new BitmapIndex<>();
+    private final BitmapIndex<Boolean> activeIndex = new BitmapIndex<>();
+    private final Dictionary roles = new Dictionary();
+    private final Dictionary skills = new Dictionary();
+    private final SearchPlanner planner = new SearchPlanner(skillIndex, roleIndex, activeIndex, roles, skills);
+
+    @BeforeEach
+    void setUp() {
+        // Most rows are active greeters; one row in a thousand is a technician
+        Random random = new Random(7);
+        for (int row = 0; row < ROWS; row++) {
+            activeIndex.index(row, random.nextInt(10) < 9);
+            String role = row % 1000 == 0 ? "Technician" : ROLES.get(random.nextInt(2) == 0 ? 0 : random.nextInt(ROLES.size()));
+            roleIndex.index(row, roles.encode(role));
+            skillIndex.index(row, List.of(skills.encode(SKILLS.get(random.nextInt(SKILLS.size()))),
+                    skills.encode(SKILLS.get(random.nextInt(SKILLS.size())))));
+        }
+    }
+
+    @Test
+    public void testPlan_AppliesMostSelectivePredicateFirst() {
+        // Act: Plan a query whose role is rare and whose active status is common
+        QueryPlan plan = planner.plan(new AdvancedSearchQuery(List.of("Cooking"), true, "Technician"), ROWS);
+
+        // Assert: The rare role is scanned first and the remaining predicates filter its few rows
+        List<QueryPlan.Step> steps = plan.getSteps();
+        assertEquals(List.of("role", "skills", "active"), steps.stream().map(QueryPlan.Step::getField).toList());
+        assertEquals(QueryPlan.Access.SCAN, steps.get(0).getAccess());
+        assertEquals(QueryPlan.Access.FILTER, steps.get(1).getAccess(), "A handful of candidates should be checked directly");
+        assertEquals(QueryPlan.Access.FILTER, steps.get(2).getAccess());
+        assertEquals(10, steps.get(0).getEstimatedRows(), "The role count should come from the index statistics");
+    }
+
+    @Test
+    public void testPlan_IntersectsWhenCandidatesAreMany() {
+        // Act: Plan a query without a role
+        QueryPlan plan = planner.plan(new AdvancedSearchQuery(List.of("Cooking", "Driving"), false), ROWS);
+
+        // Assert: The inactive rows are fewer than those with either skill, and are intersected with the skill rows
+        assertEquals(List.of("active", "skills"), plan.getSteps().stream().map(QueryPlan.Step::getField).toList());
+        assertEquals(QueryPlan.Access.INTERSECT, plan.getSteps().get(1).getAccess());
+    }
+
+    @Test
+    public void testExecute_MatchesEveryPredicateAndRecordsActualRows() {
+        for (AdvancedSearchQuery query : List.of(
+                new AdvancedSearchQuery(List.of("Cooking"), true, "Technician"),
+                new AdvancedSearchQuery(List.of("Cooking", "Driving"), false),
+                new AdvancedSearchQuery(null, true, "Usher"),
+                new AdvancedSearchQuery(List.of(), true, "Nobody"),
+                allOf(List.of("Cooking", "Driving"), true, "Technician"),
+                allOf(List.of("Cooking", "Driving"), false, null))) {
+            // Act: Run the chosen plan
+            QueryPlan plan = planner.plan(query, ROWS);
+            RoaringBitmap matches = planner.execute(query, plan);
+
+            // Assert: The result equals intersecting every index, whatever the order and access methods
+            RoaringBitmap expected = activeIndex.rowsWith(query.isActive());
+            if (query.getRole() != null) {
+                expected.and(roleIndex.rowsWith(roles.find(query.getRole())));
+            }
+            if (query.getSkills() != null && !query.getSkills().isEmpty()) {
+                List<Integer> codes = query.getSkills().stream().map(skills::find).toList();
+                expected.and(query.getSkillMatch() == SkillMatch.ALL
+                        ? skillIndex.rowsWithAll(codes) : skillIndex.rowsWithAny(codes));
+            }
+            assertArrayEquals(expected.toArray(), matches.toArray());
+            assertEquals(expected.getCardinality(), plan.getActualRows(), "The last step should record the actual result size");
+        }
+    }
+
+    private static AdvancedSearchQuery allOf(List<String> skills, boolean active, String role) {
+        AdvancedSearchQuery query = new AdvancedSearchQuery(skills, active, role);
+        query.setSkillMatch(SkillMatch.ALL);
+        return query;
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import com.cbfacademy.apiassessment.index.Dictionary;
+import com.cbfacademy.apiassessment.search.AdvancedSearchQuery;
+import com.cbfacademy.apiassessment.search.SearchKey;
+import com.cbfacademy.apiassessment.search.SkillMatch;
+
+
+/**
+ * Unit test class for VolunteerColumns.
+ */
+public class VolunteerColumnsTest {
+
+    private static final int ROWS = 1000;
+    private static final List<String> ROLES = List.of("Greeter", "Usher", "Caterer");
+
+    // More skills than fit in one 64-bit word, so the skill bitsets are widened part way through.
+    private static final List<String> SKILLS = new ArrayList<>();
+
+    static {
+        for (int i = 0; i < 150; i++) {
+            SKILLS.add("Column skill " + i);
+        }
+    }
+
+    // Dictionaries the rows are encoded with, as the repository's would be.
+    private static final Dictionary ROLE_CODES = new Dictionary();
+    private static final Dictionary SKILL_CODES = new Dictionary();
+
+    // Runs every scan on the calling thread.
+    private static final ParallelScan SEQUENTIAL = new ParallelScan(1, 1);
+
+    private final VolunteerColumns columns = new VolunteerColumns();
+    private final List<Volunteer> volunteers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Fill the columns from a fixed seed
+        fill(columns, volunteers, ROWS, new Random(11));
+    }
+
+    // Fills rows with random volunteers, then deletes every seventh one.
+    private static void fill(VolunteerColumns columns, List<Volunteer> volunteers, int count, Random random) {
+        for (int row = 0; row < count; row++) {
+            List<String> skills = new ArrayList<>();
+            for (int i = random.nextInt(4); i > 0; i--) {
+                skills.add(SKILLS.get(random.nextInt(row < count / 2 ? 40 : SKILLS.size())));
+            }
+            String role = random.nextInt(10) == 0 ? null : ROLES.get(random.nextInt(ROLES.size()));
+            Volunteer volunteer = new Volunteer(UUID.randomUUID(), "First", "Last", "07123456789", "a@b.com", role, skills, random.nextBoolean());
+            volunteers.add(volunteer);
+            columns.set(row, volunteer.isActive(), ROLE_CODES.encode(role), SKILL_CODES.encodeAll(skills));
+        }
+        for (int row = 0; row < count; row += 7) {
+            volunteers.set(row, null);
+            columns.clear(row);
+        }
+    }
+
+    @Test
+    public void testScan_MatchesEveryPredicate() {
+        Random random = new Random(3);
+        for (int i = 0; i < 200; i++) {
+            // Arrange: A random query over roles and skills, including unknown ones
+            List<String> skills = new ArrayList<>();
+            for (int j = random.nextInt(3); j > 0; j--) {
+                skills.add(random.nextInt(20) == 0 ? "Unknown skill" : SKILLS.get(random.nextInt(SKILLS.size())));
+            }
+            String role = switch (random.nextInt(5)) {
+                case 0 -> null;
+                case 1 -> "Unknown role";
+                default -> ROLES.get(random.nextInt(ROLES.size()));
+            };
+            AdvancedSearchQuery query = new AdvancedSearchQuery(skills, random.nextBoolean(), role);
+            query.setSkillMatch(random.nextBoolean() ? SkillMatch.ALL : SkillMatch.ANY);
+
+            // Act: Scan the columns
+            RoaringBitmap matches = columns.scan(key(query), SEQUENTIAL);
+
+            // Assert: The result equals testing every volunteer directly
+            assertArrayEquals(expected(query), matches.toArray(), "Mismatch for " + skills + " " + role);
+        }
+    }
+
+    @Test
+    public void testRowsWithActive_SkipsDeletedRows() {
+        for (boolean active : new boolean[] { true, false }) {
+            // Act: Read the rows with each status
+            int[] rows = columns.rowsWithActive(active, SEQUENTIAL).toArray();
+
+            // Assert: Only live rows with the status are returned
+            List<Integer> expected = new ArrayList<>();
+            for (int row = 0; row < ROWS; row++) {
+                if (volunteers.get(row) != null && volunteers.get(row).isActive() == active) {
+                    expected.add(row);
+                }
+            }
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), rows);
+            assertTrue(rows.length > 0);
+        }
+    }
+
+    @Test
+    public void testScan_ParallelScanGivesTheSameRows() {
+        // Arrange: Enough rows for the scan to be split across four threads
+        VolunteerColumns large = new VolunteerColumns();
+        fill(large, new ArrayList<>(), 50_000, new Random(5));
+        ParallelScan parallel = new ParallelScan(4, 10_000);
+        try {
+            for (String role : new String[] { null, "Usher" }) {
+                AdvancedSearchQuery query = new AdvancedSearchQuery(List.of(SKILLS.get(1), SKILLS.get(100)), true, role);
+
+                // Act & Assert: Splitting the scan changes neither the rows nor their order
+                assertArrayEquals(large.scan(key(query), SEQUENTIAL).toArray(), large.scan(key(query), parallel).toArray());
+            }
+            assertArrayEquals(large.rowsWithActive(false, SEQUENTIAL).toArray(), large.rowsWithActive(false, parallel).toArray());
+        } finally {
+            parallel.close();
+        }
+    }
+
+    private static SearchKey key(AdvancedSearchQuery query) {
+        return SearchKey.of(query, ROLE_CODES, SKILL_CODES);
+    }
+
+    // Tests each remaining volunteer against the query by its strings.
+    private int[] expected(AdvancedSearchQuery query) {
+        List<Integer> rows = new ArrayList<>();
+        for (int row = 0; row < ROWS; row++) {
+            Volunteer volunteer = volunteers.get(row);
+            if (volunteer == null || volunteer.isActive() != query.isActive()) {
+                continue;
+            }
+            if (query.getRole() != null && !query.getRole().equals(volunteer.getRole())) {
+                continue;
+            }
+            List<String> skills = query.getSkills();
+            boolean matches = skills.isEmpty()
+                    || (query.getSkillMatch() == SkillMatch.ALL
+                            ? volunteer.getSkills().containsAll(skills)
+                            : skills.stream().anyMatch(volunteer.getSkills()::contains));
+            if (matches) {
+                rows.add(row);
+            }
+        }
+        return rows.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+}
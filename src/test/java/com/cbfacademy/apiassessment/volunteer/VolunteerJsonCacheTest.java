@@ -0,0 +1,127 @@
+package com.cbfacademy.apiassessment.volunteer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.cbfacademy.apiassessment.storage.StorageProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+
+/**
+ * Unit test class for VolunteerJsonCache, against a repository in a temporary directory.
+ */
+public class VolunteerJsonCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .setFilterProvider(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+
+    private JsonVolunteerRepository repository;
+    private VolunteerJsonCache cache;
+
+    @BeforeEach
+    void setUp() {
+        StorageProperties properties = new StorageProperties();
+        properties.setFile(tempDir.resolve("volunteers.json").toString());
+        repository = new JsonVolunteerRepository(properties);
+        cache = new VolunteerJsonCache(repository, objectMapper, properties);
+    }
+
+    @Test
+    public void testJson_ReusedUntilTheVolunteerChanges() {
+        // Arrange: Save a volunteer and encode it once
+        Volunteer volunteer = repository.save(newVolunteer("David"));
+        byte[] first = cache.json(volunteer);
+
+        // Act & Assert: The same bytes are returned until the volunteer is saved again
+        assertSame(first, cache.json(volunteer), "An unchanged volunteer should not be encoded again");
+        volunteer.setRole("Treasurer");
+        repository.save(volunteer);
+        byte[] updated = cache.json(volunteer);
+        assertNotSame(first, updated, "A saved change should invalidate the cached bytes");
+        assertEquals("Treasurer", readTree(updated).get("role").asText(), "The new bytes should hold the change");
+    }
+
+    @Test
+    public void testJsonArray_MatchesJacksonOutput() throws IOException {
+        // Arrange: Save two volunteers
+        List<Volunteer> volunteers = List.of(repository.save(newVolunteer("David")), repository.save(newVolunteer("Luke")));
+
+        // Act: Assemble the array from cached bytes and compress one volunteer
+        byte[] array = cache.jsonArray(volunteers);
+        byte[] gzip = cache.gzip(volunteers.get(0));
+
+        // Assert: Both decode to what Jackson writes directly
+        assertEquals(objectMapper.valueToTree(volunteers), readTree(array), "The assembled array should match Jackson's output");
+        assertEquals("[]", new String(cache.jsonArray(List.of())), "An empty list should be an empty array");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertArrayEquals(cache.json(volunteers.get(0)), in.readAllBytes(), "The compressed bytes should inflate to the JSON");
+        }
+        repository.delete(volunteers.get(0));
+        assertEquals(1, cache.size(), "Deleting should drop the volunteer's entry");
+    }
+
+    @Test
+    public void testJson_StaleInstanceIsNotCached() {
+        // Arrange: Save a volunteer, keep the instance, then replace it with an updated copy
+        Volunteer stale = repository.save(newVolunteer("David"));
+        Volunteer current = new Volunteer(stale.getId(), "Dave", stale.getLastName(), stale.getContactNumber(), stale.getEmail(),
+                stale.getRole(), stale.getSkills(), stale.isActive());
+        repository.save(current);
+
+        // Act: Encode the stale instance first, then the current one
+        byte[] staleJson = cache.json(stale);
+        byte[] currentJson = cache.json(current);
+
+        // Assert: The stale bytes were not cached under the current version
+        assertEquals("David", readTree(staleJson).get("firstName").asText());
+        assertEquals("Dave", readTree(currentJson).get("firstName").asText(), "A stale instance should not be served for the current version");
+        assertSame(currentJson, cache.json(current), "The current instance should be cached");
+    }
+
+    @Test
+    public void testJson_DeletedVolunteerIsNotCached() {
+        // Arrange: Save and delete a volunteer
+        Volunteer volunteer = repository.save(newVolunteer("David"));
+        repository.delete(volunteer);
+
+        // Act: Encode the deleted instance
+        cache.json(volunteer);
+
+        // Assert: Nothing was cached for it
+        assertEquals(0, cache.size(), "A deleted volunteer should not be cached");
+    }
+
+    private JsonNode readTree(byte[] json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    // Helper method creating a valid volunteer with the given first name.
+    private Volunteer newVolunteer(String firstName) {
+        return new Volunteer(UUID.randomUUID(), firstName, "Judah", "07777777333", "judahdavid@gmail.com", "Bookkeeper", Arrays.asList("Numerical skills", "Accuracy"), true);
+    }
+
+}
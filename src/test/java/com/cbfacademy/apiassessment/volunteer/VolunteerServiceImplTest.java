@@ -2,14 +2,19 @@ package com.cbfacademy.apiassessment.volunteer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,9 +25,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
 
+import com.cbfacademy.apiassessment.exception.InvalidPageRequestException;
+import com.cbfacademy.apiassessment.exception.VolunteerAlreadyExistsException;
 import com.cbfacademy.apiassessment.exception.VolunteerNotFoundException;
 import com.cbfacademy.apiassessment.search.AdvancedSearchQuery;
+import com.cbfacademy.apiassessment.search.SkillMatch;
 
 
 /**
@@ -99,6 +108,18 @@ public class VolunteerServiceImplTest {
         verify(volunteerRepository, times(1)).save(volunteer);
     }
 
+    @Test
+    public void testCreateVolunteer_RejectsExistingId() {
+        // Arrange: A new volunteer carrying the ID of a stored one
+        Volunteer stored = new Volunteer(UUID.randomUUID(), "David", "Judah", "07777777333", "judahdavid@gmail.com", "Bookkeeper", Arrays.asList ("Accuracy"), true);
+        Volunteer duplicate = new Volunteer(stored.getId(), "Luke", "Branch", "07756888373", "lukeb@aol.com", "Greeter", Arrays.asList ("Welcoming"), true);
+        when(volunteerRepository.findById(stored.getId())).thenReturn(Optional.of(stored));
+
+        // Act & Assert: The create is refused instead of replacing the stored volunteer
+        assertThrows(VolunteerAlreadyExistsException.class, () -> volunteerService.createVolunteer(duplicate));
+        verify(volunteerRepository, never()).save(any(Volunteer.class));
+    }
+
     /**
      * Tests the behavior of the createVolunteer method when mandatory fields are missing in the Volunteer object.
      * This test ensures that an IllegalArgumentException is thrown, signaling a violation of data integrity rules
@@ -131,8 +152,8 @@ public class VolunteerServiceImplTest {
 
         // Mock the findById method to return the existing volunteer when the corresponding ID is queried
         when(volunteerRepository.findById(id)).thenReturn(Optional.of(existingVolunteer));
-        // Mock the save method to simulate the database save operation
-        when(volunteerRepository.save(any(Volunteer.class))).thenReturn(existingVolunteer);
+        // Mock the save method to simulate the database save operation, returning what it was given
+        when(volunteerRepository.save(any(Volunteer.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act: Execute the updateVolunteer method with the update information
         Volunteer updatedVolunteer = volunteerService.updateVolunteer(id, updateInfo);
@@ -140,9 +161,13 @@ public class VolunteerServiceImplTest {
         // Assert: Validate that the update operation was successful
         assertNotNull(updatedVolunteer, "The updated volunteer should not be null");
         assertEquals("Solomon", updatedVolunteer.getFirstName(), "The first name of the volunteer should be updated to Solomon");
+        assertEquals(existingVolunteer.getId(), updatedVolunteer.getId(), "The update should keep the volunteer's id");
+        // The stored instance is only replaced by save, never changed in place
+        assertNotSame(existingVolunteer, updatedVolunteer, "The update should be merged into a copy");
+        assertEquals("David", existingVolunteer.getFirstName(), "The stored volunteer should not be modified before saving");
         // Verify that the repository methods were called as expected
         verify(volunteerRepository, times(1)).findById(id);
-        verify(volunteerRepository, times(1)).save(existingVolunteer); // Verifies that a Volunteer object was saved exactly once
+        verify(volunteerRepository, times(1)).save(updatedVolunteer); // Verifies that a Volunteer object was saved exactly once
 }
 
     @Test
@@ -246,13 +271,12 @@ public class VolunteerServiceImplTest {
 
     @Test
     public void testSearchVolunteers_MatchingCriteria() {
-        // Arrange: Set up the search query and mock volunteers
+        // Arrange: Set up the search query and the repository's matching volunteers
         AdvancedSearchQuery query = new AdvancedSearchQuery(Arrays.asList ("Numerical skills", "Organisational skills", "Accuracy"), true, "Bookkeeper");
 
         Volunteer volunteer1 = new Volunteer(UUID.randomUUID(), "David", "Judah", "07777777333", "judahdavid@gmail.com", "Bookkeeper", Arrays.asList ("Numerical skills", "Organisational skills", "Accuracy"), true);
-        Volunteer volunteer2 = new Volunteer(UUID.randomUUID(), "Luke", "Branch", "07756888373", "lukeb@aol.com", "Greeter", Arrays.asList ("Sign Language Proficiency", "Customer Service", "Welcoming"), false);
 
-        when(volunteerRepository.findAll()).thenReturn(Arrays.asList(volunteer1, volunteer2));
+        when(volunteerRepository.search(query)).thenReturn(Arrays.asList(volunteer1));
 
         // Act: Search for volunteers matching the query criteria
         List<Volunteer> matchingVolunteers = volunteerService.searchVolunteers(query);
@@ -261,10 +285,137 @@ public class VolunteerServiceImplTest {
         assertNotNull(matchingVolunteers, "The list of matching volunteers should not be null.");
         assertEquals(1, matchingVolunteers.size(), "There should be 1 volunteer matching the search criteria.");
         assertEquals("Bookkeeper", matchingVolunteers.get(0).getRole(), "The role of the matching volunteer should be 'Role1'.");
-        verify(volunteerRepository, times(1)).findAll();
+        verify(volunteerRepository, times(1)).search(query);
     }
 
+    @Test
+    public void testGetVolunteerPage_ValidatesLimit() {
+        // Arrange: Mock the repository page for a valid request
+        VolunteerPage page = new VolunteerPage(List.of(), null);
+        when(volunteerRepository.findPage("cursor", 20)).thenReturn(page);
+
+        // Act & Assert: Valid limits are delegated, out-of-range limits are rejected before reaching the repository
+        assertEquals(page, volunteerService.getVolunteerPage("cursor", 20), "A valid page request should be delegated to the repository.");
+        assertThrows(InvalidPageRequestException.class, () -> volunteerService.getVolunteerPage(null, 0), "A limit of zero should be rejected.");
+        assertThrows(InvalidPageRequestException.class, () -> volunteerService.searchVolunteerPage(new AdvancedSearchQuery(null, true), null, VolunteerServiceImpl.MAX_PAGE_SIZE + 1),
+                "A limit above the maximum page size should be rejected.");
+        verify(volunteerRepository, times(1)).findPage("cursor", 20);
+    }
 
-}
+    @Test
+    public void testRankVolunteers_ReturnsTopKByMatchingSkills() {
+        // Arrange: Matches holding one, three, two, three and zero of the wanted skills, in insertion order
+        AdvancedSearchQuery query = new AdvancedSearchQuery(Arrays.asList("Accuracy", "Cooking", "Driving"), true);
+        query.setSkillMatch(SkillMatch.RANKED);
+        Volunteer one = rankedVolunteer("One", "Accuracy", "Welcoming");
+        Volunteer threeEarly = rankedVolunteer("ThreeEarly", "Driving", "Cooking", "Accuracy");
+        Volunteer two = rankedVolunteer("Two", "Cooking", "Cooking", "Driving");
+        Volunteer threeLate = rankedVolunteer("ThreeLate", "Accuracy", "Cooking", "Driving");
+        Volunteer none = rankedVolunteer("None", "Welcoming");
+        when(volunteerRepository.search(query)).thenReturn(List.of(one, threeEarly, two, threeLate, none));
+
+        // Act & Assert: The best three come back by score, ties in insertion order, duplicates counted once
+        assertEquals(List.of(threeEarly, threeLate, two), volunteerService.rankVolunteers(query, 3));
+        assertEquals(List.of(threeEarly, threeLate, two, one, none), volunteerService.searchVolunteers(query), "Ranked searches should be ordered without a limit too");
+        assertThrows(InvalidPageRequestException.class, () -> volunteerService.searchVolunteerPage(query, null, 10), "Ranked searches should not be paged");
+    }
 
+    @Test
+    public void testSearchVolunteers_RejectsRankedSearchesThatWouldBeTruncated() {
+        // Arrange: A ranked query matching one more volunteer than fits in a page
+        AdvancedSearchQuery query = new AdvancedSearchQuery(Arrays.asList("Accuracy"), true);
+        query.setSkillMatch(SkillMatch.RANKED);
+        when(volunteerRepository.search(query)).thenReturn(Collections.nCopies(VolunteerServiceImpl.MAX_PAGE_SIZE + 1, rankedVolunteer("Many", "Accuracy")));
+
+        // Act & Assert: The search is rejected rather than silently cut short, while a limited ranking still works
+        assertThrows(InvalidPageRequestException.class, () -> volunteerService.searchVolunteers(query), "Ranked searches should not be truncated silently");
+        assertEquals(10, volunteerService.rankVolunteers(query, 10).size());
+    }
 
+    @Test
+    public void testLookupVolunteers_ValidatesLimit() {
+        // Arrange: Mock the repository lookup
+        Volunteer volunteer = new Volunteer(UUID.randomUUID(), "David", "Judah", "07777777333", "judahdavid@gmail.com", "Bookkeeper", Arrays.asList("Accuracy"), true);
+        when(volunteerRepository.lookup("dav", 10)).thenReturn(List.of(volunteer));
+
+        // Act & Assert: Valid limits are delegated, out-of-range limits are rejected before reaching the repository
+        assertEquals(List.of(volunteer), volunteerService.lookupVolunteers("dav", 10));
+        assertThrows(InvalidPageRequestException.class, () -> volunteerService.lookupVolunteers("dav", 0), "A limit of zero should be rejected.");
+        verify(volunteerRepository, times(1)).lookup(any(), anyInt());
+    }
+
+    @Test
+    public void testApplyBatch_ReportsEachOperationAndAppliesValidOnesOnce() {
+        // Arrange: A batch with a valid create, an invalid create, an update of the new volunteer and a delete of an unknown ID
+        Volunteer created = new Volunteer(UUID.randomUUID(), "David", "Judah", "07777777333", "judahdavid@gmail.com", "Bookkeeper", Arrays.asList ("Accuracy"), true);
+        Volunteer invalid = new Volunteer(UUID.randomUUID(), "", "Branch", "07756888373", "lukeb@aol.com", "Greeter", Arrays.asList ("Welcoming"), true);
+        Volunteer update = new Volunteer(null, "David", "Judah", "07777777333", "judahdavid@gmail.com", "Treasurer", Arrays.asList(), true);
+        UUID unknown = UUID.randomUUID();
+        when(volunteerRepository.findById(unknown)).thenReturn(Optional.empty());
+
+        // Act: Apply the batch
+        List<BatchResult> results = volunteerService.applyBatch(Arrays.asList(
+                new BatchOperation(BatchOperation.Type.CREATE, null, created),
+                new BatchOperation(BatchOperation.Type.CREATE, null, invalid),
+                new BatchOperation(BatchOperation.Type.UPDATE, created.getId(), update),
+                new BatchOperation(BatchOperation.Type.DELETE, unknown, null)));
+
+        // Assert: Each operation has its own result and only the valid ones reach the repository, in one call
+        assertEquals(Arrays.asList(HttpStatus.CREATED, HttpStatus.BAD_REQUEST, HttpStatus.OK, HttpStatus.NOT_FOUND),
+                results.stream().map(BatchResult::getStatus).toList(), "Each operation should report its own outcome.");
+        assertEquals("Treasurer", results.get(2).getVolunteer().getRole(), "The update should apply to the volunteer created earlier in the batch.");
+        verify(volunteerRepository, times(1)).applyBatch(any());
+        verify(volunteerRepository, never()).save(any(Volunteer.class));
+    }
+
+    @Test
+    public void testApplyBatch_RejectsCreatesWithExistingIds() {
+        // Arrange: A stored volunteer, and creates reusing its ID and the ID of a volunteer created earlier in the batch
+        Volunteer stored = new Volunteer(UUID.randomUUID(), "David", "Judah", "07777777333", "judahdavid@gmail.com", "Bookkeeper", Arrays.asList ("Accuracy"), true);
+        Volunteer created = new Volunteer(UUID.randomUUID(), "Luke", "Branch", "07756888373", "lukeb@aol.com", "Greeter", Arrays.asList ("Welcoming"), true);
+        Volunteer sameAsStored = new Volunteer(stored.getId(), "Ruth", "Stone", "07756888374", "ruths@aol.com", "Greeter", Arrays.asList ("Welcoming"), true);
+        Volunteer sameAsCreated = new Volunteer(created.getId(), "Mary", "Stone", "07756888375", "marys@aol.com", "Greeter", Arrays.asList ("Welcoming"), true);
+        when(volunteerRepository.findById(stored.getId())).thenReturn(Optional.of(stored));
+
+        // Act: Apply the batch, recreating the stored volunteer's ID only after deleting it
+        List<BatchResult> results = volunteerService.applyBatch(Arrays.asList(
+                new BatchOperation(BatchOperation.Type.CREATE, null, sameAsStored),
+                new BatchOperation(BatchOperation.Type.CREATE, null, created),
+                new BatchOperation(BatchOperation.Type.CREATE, null, sameAsCreated),
+                new BatchOperation(BatchOperation.Type.DELETE, stored.getId(), null),
+                new BatchOperation(BatchOperation.Type.CREATE, null, sameAsStored)));
+
+        // Assert: Only creates of IDs not in use at that point in the batch are accepted
+        assertEquals(Arrays.asList(HttpStatus.CONFLICT, HttpStatus.CREATED, HttpStatus.CONFLICT, HttpStatus.NO_CONTENT, HttpStatus.CREATED),
+                results.stream().map(BatchResult::getStatus).toList(), "Creates reusing an existing ID should conflict.");
+        verify(volunteerRepository, times(1)).applyBatch(argThat(operations -> operations.size() == 3));
+    }
+
+    @Test
+    public void testApplyBatch_StagesUpdatesWithoutChangingTheStoredVolunteer() {
+        // Arrange: A stored volunteer, updated by a batch whose later operation is rejected
+        Volunteer stored = new Volunteer(UUID.randomUUID(), "David", "Judah", "07777777333", "judahdavid@gmail.com", "Bookkeeper", Arrays.asList ("Accuracy"), true);
+        Volunteer update = new Volunteer(null, "Solomon", "Judah", "07777777333", "judahdavid@gmail.com", "Treasurer", Arrays.asList(), true);
+        Volunteer invalid = new Volunteer(UUID.randomUUID(), "", "Branch", "07756888373", "lukeb@aol.com", "Greeter", Arrays.asList ("Welcoming"), true);
+        when(volunteerRepository.findById(stored.getId())).thenReturn(Optional.of(stored));
+
+        // Act: Apply the batch
+        List<BatchResult> results = volunteerService.applyBatch(Arrays.asList(
+                new BatchOperation(BatchOperation.Type.UPDATE, stored.getId(), update),
+                new BatchOperation(BatchOperation.Type.CREATE, null, invalid)));
+
+        // Assert: The update is reported on a copy, and the stored instance is left for the repository to replace
+        Volunteer staged = results.get(0).getVolunteer();
+        assertNotSame(stored, staged, "The update should be staged on a copy");
+        assertEquals("Solomon", staged.getFirstName());
+        assertEquals("Treasurer", staged.getRole());
+        assertEquals("David", stored.getFirstName(), "The stored volunteer should not be modified while the batch is validated");
+        assertEquals("Bookkeeper", stored.getRole(), "The stored volunteer should not be modified while the batch is validated");
+        verify(volunteerRepository, times(1)).applyBatch(argThat(operations -> operations.size() == 1 && operations.get(0).getVolunteer() == staged));
+    }
+
+    private static Volunteer rankedVolunteer(String firstName, String... skills) {
+        return new Volunteer(UUID.randomUUID(), firstName, "Judah", "07777777333", "judahdavid@gmail.com", "Bookkeeper", Arrays.asList(skills), true);
+    }
+
+}